@@ -0,0 +1,42 @@
+// Catalogue read/write mix for comparing execution modes.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=... -e PASSWORD=... load-test/catalogue.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        catalogue: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '1m', target: 800 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/authentication`,
+        JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    return { token: response.json('jwt') };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    const roll = Math.random();
+    let response;
+    if (roll < 0.6) {
+        response = http.get(`${BASE_URL}/product/all?page=${Math.floor(Math.random() * 20)}`, params);
+    } else if (roll < 0.9) {
+        response = http.get(`${BASE_URL}/category/all`, params);
+    } else {
+        response = http.get(`${BASE_URL}/customer/all`, params);
+    }
+    check(response, { 'not a server error': (r) => r.status < 500 });
+}
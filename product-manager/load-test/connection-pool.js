@@ -0,0 +1,36 @@
+// Database-bound reads at a fixed arrival rate, for comparing datasource settings.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=... -e PASSWORD=... -e RATE=1500 load-test/connection-pool.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 1500),
+            timeUnit: '1s',
+            duration: '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 1000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/authentication`,
+        JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    return { token: response.json('jwt') };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    const page = Math.floor(Math.random() * 200);
+    const response = Math.random() < 0.5
+        ? http.get(`${BASE_URL}/product/all?page=${page}`, params)
+        : http.get(`${BASE_URL}/product/sort-by-price?page=${page}`, params);
+    check(response, { 'not a server error': (r) => r.status < 500 });
+}
@@ -0,0 +1,37 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.ProductManagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application against an in-memory H2 database instead of SQL Server.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        String[] properties = {
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.liquibase.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"
+        };
+        // Passed as command line arguments so they take precedence over application.yaml.
+        String[] args = Stream.concat(Arrays.stream(properties), Arrays.stream(extraProperties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ProductManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
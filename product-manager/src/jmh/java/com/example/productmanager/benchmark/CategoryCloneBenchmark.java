@@ -0,0 +1,50 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategoryCloneBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int productCount;
+
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        category = Category.builder()
+                .id(UUID.randomUUID())
+                .name("Category")
+                .description("Benchmark category")
+                .createdAt(new Date())
+                .active(true)
+                .build();
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            products.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("product-" + i)
+                    .description("Benchmark product")
+                    .price((double) i)
+                    .available(true)
+                    .category(category)
+                    .build());
+        }
+        category.setProductList(products);
+    }
+
+    @Benchmark
+    public Object deepClone() {
+        return category.clone();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.service.impl.ProductChangeServiceImpl;
+import com.example.productmanager.service.impl.ProductServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one storefront sync by polling every page of {@code /product/all} with one call to the change feed,
+ * after {@code changed} of {@code products} products were updated. The {@code bytesPerOp} and {@code statementsPerOp}
+ * counters report the serialized response size and the JDBC statements per sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChangeFeedBenchmark {
+    private static final int PAGE_SIZE = 5;
+
+    @Param({"1000"})
+    private int products;
+
+    @Param({"10", "100"})
+    private int changed;
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private ProductChangeServiceImpl changeService;
+    private ObjectMapper objectMapper;
+    private Statistics statistics;
+    private String since;
+
+    /**
+     * JMH reports each public field as an event counter; bytes and statements per poll are their ratio to
+     * {@code operations}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Transfer {
+        public long bytes;
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            statements = 0;
+            operations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("change-feed-benchmark",
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        productService = context.getBean(ProductServiceImpl.class);
+        changeService = context.getBean(ProductChangeServiceImpl.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        UUID categoryId = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("Benchmark").description("Benchmark category").createdAt(new Date()).active(true)
+                .build()).getId();
+        List<UUID> ids = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            ids.add(productService.addProduct(product("product-" + i, categoryId)).getBody().getId());
+        }
+        since = String.valueOf(context.getBean(ProductChangeRepository.class).findLastId());
+        for (int i = 0; i < changed; i++) {
+            productService.updateProduct(ids.get(i * (products / changed)), product("changed-" + i, categoryId));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long fullPoll(Transfer transfer) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        long bytes = 0;
+        for (int page = 0; ; page++) {
+            ResponseEntity<?> response = productService.paginationProducts(page, PAGE_SIZE);
+            if (response.getStatusCode() != HttpStatus.OK) {
+                break;
+            }
+            bytes += objectMapper.writeValueAsBytes(response.getBody()).length;
+        }
+        return record(transfer, bytes, before);
+    }
+
+    @Benchmark
+    public long changeFeed(Transfer transfer) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        byte[] body = objectMapper.writeValueAsBytes(changeService.getChanges(since, 500).getBody());
+        return record(transfer, body.length, before);
+    }
+
+    private long record(Transfer transfer, long bytes, long statementsBefore) {
+        transfer.bytes += bytes;
+        transfer.statements += statistics.getPrepareStatementCount() - statementsBefore;
+        transfer.operations++;
+        return bytes;
+    }
+
+    private static ProductDTO product(String name, UUID categoryId) {
+        return ProductDTO.builder()
+                .name(name)
+                .description("Benchmark product")
+                .price(10.0)
+                .createdAt(new Date())
+                .available(true)
+                .idCategory(categoryId)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.untils.JwtUntil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtUntil jwtUntil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUntil = new JwtUntil();
+        userDetails = new User("bench@example.com", "", new ArrayList<>());
+        token = jwtUntil.generateToken(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUntil.generateToken(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUntil.validateToken(token, userDetails);
+    }
+}
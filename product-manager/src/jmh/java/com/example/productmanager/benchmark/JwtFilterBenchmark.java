@@ -0,0 +1,107 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.cache.TokenCache;
+import com.example.productmanager.cache.TokenDenylist;
+import com.example.productmanager.filters.JwtRequestFilter;
+import com.example.productmanager.model.User;
+import com.example.productmanager.repository.UserRepository;
+import com.example.productmanager.service.impl.UserDetailServiceImpl;
+import com.example.productmanager.untils.JwtUntil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates a bearer token with the database-backed filter, warm and with cold caches, and with the
+ * stateless filter. The {@code statementsPerOp} counter reports the JDBC statements per authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtFilterBenchmark {
+    private static final String EMAIL = "bench@example.com";
+
+    private ConfigurableApplicationContext context;
+    private JwtRequestFilter databaseFilter;
+    private JwtRequestFilter statelessFilter;
+    private UserDetailServiceImpl userDetailService;
+    private TokenCache tokenCache;
+    private Statistics statistics;
+    private String token;
+
+    /**
+     * JMH reports each public field as an event counter; statements per operation is {@code statements / operations}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt-filter-benchmark",
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        context.getBean(UserRepository.class).save(User.builder().email(EMAIL).password("").name("bench").build());
+        JwtUntil jwtUntil = context.getBean(JwtUntil.class);
+        userDetailService = context.getBean(UserDetailServiceImpl.class);
+        tokenCache = context.getBean(TokenCache.class);
+        TokenDenylist tokenDenylist = context.getBean(TokenDenylist.class);
+        databaseFilter = new JwtRequestFilter(userDetailService, jwtUntil, tokenCache, tokenDenylist,
+                JwtRequestFilter.Verification.DATABASE);
+        statelessFilter = new JwtRequestFilter(userDetailService, jwtUntil, tokenCache, tokenDenylist,
+                JwtRequestFilter.Verification.STATELESS);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        token = jwtUntil.generateToken(EMAIL, List.of(), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object databaseWarmCache(RoundTrips roundTrips) throws Exception {
+        return authenticate(databaseFilter, roundTrips);
+    }
+
+    @Benchmark
+    public Object databaseColdCache(RoundTrips roundTrips) throws Exception {
+        tokenCache.invalidate(token);
+        userDetailService.evictUser(EMAIL);
+        return authenticate(databaseFilter, roundTrips);
+    }
+
+    @Benchmark
+    public Object stateless(RoundTrips roundTrips) throws Exception {
+        return authenticate(statelessFilter, roundTrips);
+    }
+
+    private Object authenticate(JwtRequestFilter filter, RoundTrips roundTrips) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product/all");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        roundTrips.operations++;
+        return principal;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"5", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Product> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Product> products = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            products.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("product-" + i)
+                    .description("Benchmark product " + i)
+                    .price(i * 1.5)
+                    .createdAt(new Date())
+                    .updatedAt(new Date())
+                    .available(true)
+                    .build());
+        }
+        page = new PageImpl<>(products, PageRequest.of(3, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
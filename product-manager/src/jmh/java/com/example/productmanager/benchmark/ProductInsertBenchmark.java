@@ -0,0 +1,119 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.exception.CategoryNotFoundException;
+import com.example.productmanager.exception.ExistProductNameException;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.service.impl.ProductServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the former check-then-save create path with the single-insert path of ProductServiceImpl.addProduct.
+ * The {@code statementsPerOp} counter reports the JDBC statements prepared per created product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductInsertBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private ProductRepository productRepository;
+    private CategoryRepository categoryRepository;
+    private Statistics statistics;
+    private UUID categoryId;
+
+    /**
+     * JMH reports each public field as an event counter; statements per operation is {@code statements / operations}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A single insert never fills a JDBC batch, and batched statements are counted twice by the statistics.
+        context = BenchmarkContext.start("product-insert-benchmark",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=0");
+        productService = context.getBean(ProductServiceImpl.class);
+        productRepository = context.getBean(ProductRepository.class);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        categoryId = categoryRepository.save(Category.builder()
+                .name("Benchmark")
+                .description("Benchmark category")
+                .createdAt(new Date())
+                .active(true)
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product checkThenSave(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        String name = "product-" + sequence.incrementAndGet();
+        if (productRepository.existsByName(name)) {
+            throw new ExistProductNameException("Product name already exists: " + name);
+        }
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Invalid categoryId: " + categoryId);
+        }
+        Product product = productRepository.save(Product.builder()
+                .name(name)
+                .description("Benchmark product")
+                .price(10.0)
+                .createdAt(new Date())
+                .available(true)
+                .category(categoryRepository.getReferenceById(categoryId))
+                .build());
+        count(roundTrips, before);
+        return product;
+    }
+
+    @Benchmark
+    public Product singleInsert(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Product product = productService.addProduct(ProductDTO.builder()
+                .name("product-" + sequence.incrementAndGet())
+                .description("Benchmark product")
+                .price(10.0)
+                .createdAt(new Date())
+                .available(true)
+                .idCategory(categoryId)
+                .build()).getBody();
+        count(roundTrips, before);
+        return product;
+    }
+
+    private void count(RoundTrips roundTrips, long before) {
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        roundTrips.operations++;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.model.Product;
+import com.example.productmanager.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over a generated catalogue of branded product names with short
+ * descriptions, so that common words match a large share of the products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String[] BRANDS = {"Acme", "Nordic", "Zenith", "Orion", "Vertex", "Lumen", "Atlas", "Kestrel",
+            "Summit", "Pioneer", "Cobalt", "Harbor", "Maple", "Quantum", "Sierra", "Tundra"};
+    private static final String[] ADJECTIVES = {"wireless", "mechanical", "portable", "compact", "ergonomic",
+            "stainless", "waterproof", "smart", "classic", "premium", "lightweight", "foldable", "rechargeable",
+            "digital", "ceramic", "wooden"};
+    private static final String[] NOUNS = {"keyboard", "mouse", "headphones", "speaker", "monitor", "charger", "lamp",
+            "kettle", "backpack", "blender", "camera", "router", "thermos", "jacket", "chair", "desk", "watch",
+            "tripod", "microphone", "drone"};
+    private static final String[] FILLER = {"with", "for", "home", "office", "travel", "durable", "black", "white",
+            "steel", "cable", "battery", "warranty", "gift", "kit", "pack", "set"};
+
+    @Param({"10000", "100000"})
+    private int productCount;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new ProductSearchIndex();
+        for (int i = 0; i < productCount; i++) {
+            String adjective = pick(random, ADJECTIVES);
+            String noun = pick(random, NOUNS);
+            index.index(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name(pick(random, BRANDS) + " " + adjective + " " + noun + " " + (100 + random.nextInt(900)))
+                    .description(adjective + " " + noun + " " + pick(random, FILLER) + " " + pick(random, FILLER) + " "
+                            + pick(random, NOUNS) + " " + pick(random, FILLER))
+                    .price(1.0 + random.nextInt(50000) / 100.0)
+                    .available(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Object searchFirstPage() {
+        return index.search("wireless keyboard", 0, 20);
+    }
+
+    @Benchmark
+    public Object searchTenthPage() {
+        return index.search("wireless keyboard", 180, 20);
+    }
+
+    @Benchmark
+    public Object searchFullRanking() {
+        return index.search("wireless keyboard");
+    }
+
+    @Benchmark
+    public Object searchWithTypo() {
+        return index.search("keybaord", 0, 20);
+    }
+
+    @Benchmark
+    public List<String> autocompleteOneLetter() {
+        return index.autocomplete("k", 10);
+    }
+
+    @Benchmark
+    public List<String> autocompleteTwoTerms() {
+        return index.autocomplete("wireless ke", 10);
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
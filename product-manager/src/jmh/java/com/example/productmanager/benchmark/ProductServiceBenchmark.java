@@ -0,0 +1,59 @@
+package com.example.productmanager.benchmark;
+
+import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures ProductServiceImpl.addProduct, including convertToObject, against an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private UUID categoryId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("product-service-benchmark");
+        productService = context.getBean(ProductServiceImpl.class);
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("Benchmark")
+                .description("Benchmark category")
+                .createdAt(new Date())
+                .active(true)
+                .build());
+        categoryId = category.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Product> addProduct() {
+        return productService.addProduct(ProductDTO.builder()
+                .name("product-" + sequence.incrementAndGet())
+                .description("Benchmark product")
+                .price(10.0)
+                .createdAt(new Date())
+                .available(true)
+                .idCategory(categoryId)
+                .build());
+    }
+}
@@ -1,23 +1,24 @@
 package com.example.productmanager;
 
+import com.example.productmanager.config.CustomerApiProperties;
+import com.example.productmanager.config.ReplicaProperties;
+import com.example.productmanager.config.SecondLevelCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(LiquibaseProperties.class)
+@EnableAsync
+@EnableScheduling
+@EnableConfigurationProperties({LiquibaseProperties.class, CustomerApiProperties.class,
+        SecondLevelCacheProperties.class, ReplicaProperties.class})
 public class ProductManagerApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(ProductManagerApplication.class, args);
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
 }
@@ -0,0 +1,74 @@
+package com.example.productmanager.cache;
+
+import com.example.productmanager.dto.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the in-process caches by name so their statistics can be reported together.
+ * Each cache is also published to Micrometer under the standard {@code cache.*} meter names, and each
+ * {@link SingleFlight} under {@code singleflight.calls} and {@code singleflight.in.flight}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRegistry {
+    private final Map<String, LruCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public <K, V> LruCache<K, V> register(String name, LruCache<K, V> cache) {
+        caches.put(name, cache);
+        bindMetrics(name, cache);
+        return cache;
+    }
+
+    public <K, V> SingleFlight<K, V> register(String name, SingleFlight<K, V> singleFlight) {
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getExecuted)
+                .tags("name", name, "result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getCollapsed)
+                .tags("name", name, "result", "collapsed")
+                .register(meterRegistry);
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getTimedOut)
+                .tags("name", name, "result", "timeout")
+                .register(meterRegistry);
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getBypassed)
+                .tags("name", name, "result", "bypassed")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in.flight", singleFlight, SingleFlight::inFlight)
+                .tag("name", name)
+                .register(meterRegistry);
+        return singleFlight;
+    }
+
+    public Map<String, LruCache<?, ?>> getCaches() {
+        return caches;
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    private void bindMetrics(String name, LruCache<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHits())
+                .tags("cache", name, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMisses())
+                .tags("cache", name, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictions())
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, LruCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
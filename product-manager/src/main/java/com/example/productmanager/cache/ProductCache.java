@@ -0,0 +1,76 @@
+package com.example.productmanager.cache;
+
+import com.example.productmanager.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Read-through cache of products, indexed by id and by name.
+ * Only available products are reachable by name, matching {@code ProductRepository.findByName}.
+ */
+@Component
+public class ProductCache {
+    private final LruCache<UUID, Product> byId;
+    private final LruCache<String, UUID> idByName;
+
+    public ProductCache(CacheRegistry registry,
+                        @Value("${product.cache.max-size:10000}") int maxSize,
+                        @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.byId = registry.register("product.id", new LruCache<>(maxSize, ttl));
+        this.idByName = registry.register("product.name", new LruCache<>(maxSize, ttl));
+    }
+
+    public Product getById(UUID id) {
+        return byId.get(id);
+    }
+
+    public Product getByName(String name) {
+        UUID id = idByName.get(name);
+        if (id == null) {
+            return null;
+        }
+        Product product = byId.get(id);
+        if (product == null || !name.equals(product.getName()) || !Boolean.TRUE.equals(product.getAvailable())) {
+            idByName.invalidate(name);
+            return null;
+        }
+        return product;
+    }
+
+    public void put(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        byId.put(product.getId(), product);
+        if (product.getName() != null && Boolean.TRUE.equals(product.getAvailable())) {
+            idByName.put(product.getName(), product.getId());
+        }
+    }
+
+    /**
+     * Drop a product and its name mapping.
+     *
+     * @param id   the id of the product
+     * @param name the name the product was cached under, may be null
+     */
+    public void evict(UUID id, String name) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        evictName(name);
+    }
+
+    public void evictName(String name) {
+        if (name != null) {
+            idByName.invalidate(name);
+        }
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        idByName.invalidateAll();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.productmanager.cache;
+
+import com.example.productmanager.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports the Hibernate second-level and query cache regions by name.
+ * The same counters are published to Micrometer as {@code hibernate.second.level.cache.*} and {@code hibernate.cache.query.*}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStats {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, CacheRegionStats> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, CacheRegionStats> stats = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                stats.put(region, new CacheRegionStats(regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.productmanager.cache;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent lookups of the same key: the first caller runs the lookup and every caller arriving while it
+ * is in flight waits for and shares its result, or its exception. Nothing is kept once the lookup completes.
+ * A caller waits at most the timeout for a lookup of its key; it then forgets that lookup, so the next callers do not
+ * join it either, and starts over: the callers that gave up together share one new lookup.
+ * <p>
+ * A caller inside a transaction runs its own lookup, so it gets entities of its own persistence context and never
+ * hands them to other threads. So does a caller for which {@code runAlone} holds, such as a user who has just written
+ * and must not be served by a lookup that started before the write.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+    private final long timeoutMillis;
+    private final BooleanSupplier runAlone;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    public SingleFlight(Duration timeout) {
+        this(timeout, () -> false);
+    }
+
+    public SingleFlight(Duration timeout, BooleanSupplier runAlone) {
+        this.timeoutMillis = timeout.toMillis();
+        this.runAlone = runAlone;
+    }
+
+    /**
+     * Run the lookup for a key, or share the result of the one already in flight for it.
+     *
+     * @param key    the key of the lookup
+     * @param lookup the lookup to run if none is in flight
+     * @return the result of the lookup
+     */
+    public V execute(K key, Supplier<V> lookup) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || runAlone.getAsBoolean()) {
+            bypassed.incrementAndGet();
+            return lookup.get();
+        }
+        return share(key, lookup);
+    }
+
+    private V share(K key, Supplier<V> lookup) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running == null) {
+            executed.incrementAndGet();
+            try {
+                V value = lookup.get();
+                call.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+        try {
+            V value = running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            collapsed.incrementAndGet();
+            return value;
+        } catch (ExecutionException e) {
+            collapsed.incrementAndGet();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            inFlight.remove(key, running);
+            return share(key, lookup);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lookup of " + key, e);
+        }
+    }
+
+    /**
+     * @return the lookups run by a first caller
+     */
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    /**
+     * @return the callers served by a lookup another caller ran
+     */
+    public long getCollapsed() {
+        return collapsed.get();
+    }
+
+    /**
+     * @return the times a caller gave up waiting for a lookup and started over
+     */
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    /**
+     * @return the callers that ran their own lookup without sharing it
+     */
+    public long getBypassed() {
+        return bypassed.get();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
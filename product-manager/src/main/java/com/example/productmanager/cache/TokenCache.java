@@ -0,0 +1,51 @@
+package com.example.productmanager.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Cache of JWTs that have already been verified, keyed by the SHA-256 hash of the token
+ * so raw bearer tokens are never kept in memory. An entry never outlives its token.
+ */
+@Component
+public class TokenCache {
+    private final LruCache<String, UserDetails> tokens;
+
+    public TokenCache(CacheRegistry registry,
+                      @Value("${security.jwt.cache.max-size:10000}") int maxSize,
+                      @Value("${security.jwt.cache.ttl:5m}") Duration ttl) {
+        this.tokens = registry.register("jwt.token", new LruCache<>(maxSize, ttl));
+    }
+
+    public UserDetails get(String token) {
+        return tokens.get(hash(token));
+    }
+
+    public void put(String token, UserDetails userDetails, long expiresAt) {
+        tokens.put(hash(token), userDetails, expiresAt);
+    }
+
+    public void invalidate(String token) {
+        tokens.invalidate(hash(token));
+    }
+
+    public void clear() {
+        tokens.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.productmanager.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWTs, checked on every request instead of loading the user.
+ * A token is revoked either by its id or, for all tokens of a user, by a minimum token version.
+ * Every entry is dropped once the tokens it revokes have expired, so the size is bounded by the revocations made
+ * within one token lifetime. The list is local to this instance. Version revocations are restored from the users'
+ * token versions at startup and reloaded periodically by {@link TokenDenylistSeeder}, which also picks up the
+ * revocations made on other instances; revocations of single tokens are not stored, stay local and are lost on
+ * restart.
+ */
+@Component
+public class TokenDenylist {
+    private final Map<String, Long> revokedIds = new ConcurrentHashMap<>();
+    private final Map<String, Revocation> revokedVersions = new ConcurrentHashMap<>();
+
+    public TokenDenylist(MeterRegistry meterRegistry) {
+        Gauge.builder("jwt.denylist.size", this, TokenDenylist::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revoke a single token until it expires.
+     *
+     * @param tokenId   the jti claim of the token
+     * @param expiresAt the expiry of the token as epoch milliseconds
+     */
+    public void revokeToken(String tokenId, long expiresAt) {
+        if (tokenId != null) {
+            revokedIds.merge(tokenId, expiresAt, Math::max);
+        }
+    }
+
+    /**
+     * Revoke every token of a user whose version is lower than the given one.
+     *
+     * @param subject   the user
+     * @param version   the lowest version still accepted
+     * @param expiresAt when the last token issued with a lower version expires, as epoch milliseconds
+     */
+    public void revokeVersionsBelow(String subject, long version, long expiresAt) {
+        revokedVersions.merge(subject, new Revocation(version, expiresAt), (current, revocation) ->
+                new Revocation(Math.max(current.minimumVersion(), revocation.minimumVersion()),
+                        Math.max(current.expiresAt(), revocation.expiresAt())));
+    }
+
+    public boolean isRevoked(String tokenId, String subject, long version) {
+        long now = System.currentTimeMillis();
+        if (tokenId != null) {
+            Long expiresAt = revokedIds.get(tokenId);
+            if (expiresAt != null && expiresAt > now) {
+                return true;
+            }
+        }
+        Revocation revocation = revokedVersions.get(subject);
+        return revocation != null && revocation.expiresAt() > now && version < revocation.minimumVersion();
+    }
+
+    public int size() {
+        return revokedIds.size() + revokedVersions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.denylist.purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedIds.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedVersions.values().removeIf(revocation -> revocation.expiresAt() <= now);
+    }
+
+    private record Revocation(long minimumVersion, long expiresAt) {
+    }
+}
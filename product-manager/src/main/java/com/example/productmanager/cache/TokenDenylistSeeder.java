@@ -0,0 +1,51 @@
+package com.example.productmanager.cache;
+
+import com.example.productmanager.dto.UserTokenVersion;
+import com.example.productmanager.repository.UserRepository;
+import com.example.productmanager.untils.JwtUntil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Restores the version revocations of the {@link TokenDenylist} from the users' token versions at startup, so a
+ * restart does not accept again the tokens a user revoked with "all sessions". The time of a revocation is not stored,
+ * so each one is kept for a whole token lifetime from startup. Runs before the web server starts, unlike an
+ * {@code ApplicationReadyEvent} listener, so no request is served with an empty denylist.
+ * <p>
+ * The versions are reloaded on a schedule, one query per interval, so a revocation made through another instance is
+ * enforced here within {@code security.jwt.denylist.refresh-interval} instead of after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenDenylistSeeder implements SmartInitializingSingleton {
+    private final TokenDenylist tokenDenylist;
+    private final UserRepository userRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<UserTokenVersion> versions = reload();
+        log.info("Restored the token revocations of {} users", versions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.denylist.refresh-interval:PT30S}",
+            initialDelayString = "${security.jwt.denylist.refresh-interval:PT30S}")
+    public void refresh() {
+        List<UserTokenVersion> versions = reload();
+        log.debug("Reloaded the token revocations of {} users", versions.size());
+    }
+
+    private List<UserTokenVersion> reload() {
+        long expiresAt = System.currentTimeMillis() + JwtUntil.EXPIRATION_MILLIS;
+        List<UserTokenVersion> versions = userRepository.findRevokedTokenVersions();
+        for (UserTokenVersion version : versions) {
+            tokenDenylist.revokeVersionsBelow(version.email(), version.tokenVersion(), expiresAt);
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.productmanager.changes;
+
+import com.example.productmanager.dto.ProductChangeEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the change feed to Server-Sent Events subscribers.
+ * One poll reads the changes after the position of the furthest-behind subscriber and queues for each subscriber the
+ * part it has not seen, so the database load does not grow with the number of subscribers. A subscriber that is behind
+ * catches up one batch per poll. Polling rather than notifying on commit also picks up writes from other instances.
+ * <p>
+ * Each subscriber is written to by a task of its own on the application task executor, so a slow client never holds
+ * up the poll or the other subscribers. A subscriber whose buffer of {@code product.changes.stream.buffer-size} events
+ * is full has fallen behind and is disconnected; it resumes from its {@code Last-Event-ID} when it reconnects.
+ */
+@Component
+public class ProductChangeBroadcaster {
+    private final ProductChangeLog changeLog;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final int batchSize;
+    private final int bufferSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+
+    public ProductChangeBroadcaster(ProductChangeLog changeLog, MeterRegistry meterRegistry,
+                                    @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                    @Value("${product.changes.stream.timeout:30m}") Duration timeout,
+                                    @Value("${product.changes.stream.heartbeat:15s}") Duration heartbeat,
+                                    @Value("${product.changes.stream.batch-size:500}") int batchSize,
+                                    @Value("${product.changes.stream.buffer-size:2000}") int bufferSize) {
+        this.changeLog = changeLog;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        Gauge.builder("product.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.dropped = Counter.builder("product.changes.subscribers.dropped").register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the changes after the given position; the backlog is delivered by the following polls.
+     *
+     * @param lastId the id of the last change the subscriber has seen, 0 for the beginning
+     * @return the emitter of the subscription
+     */
+    public SseEmitter subscribe(long lastId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, lastId, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Queue the new changes for every subscriber and hand the sending to the task executor.
+     * Only queueing happens under the lock, so a poll never waits for a client.
+     */
+    @Scheduled(fixedDelayString = "${product.changes.stream.poll-interval:PT1S}")
+    public synchronized void poll() {
+        // A subscriber joining during the poll waits for the next one, which starts from its position.
+        List<Subscriber> current = List.copyOf(subscribers);
+        if (current.isEmpty()) {
+            return;
+        }
+        long from = current.stream().mapToLong(subscriber -> subscriber.lastId).min().orElse(0);
+        List<ProductChangeEntry> changes = changeLog.readAfter(from, batchSize);
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : current) {
+            if (queue(subscriber, changes, now)) {
+                drain(subscriber);
+            } else {
+                subscribers.remove(subscriber);
+                dropped.increment();
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * @return false if the subscriber's buffer is full
+     */
+    private boolean queue(Subscriber subscriber, List<ProductChangeEntry> changes, long now) {
+        for (ProductChangeEntry change : changes) {
+            long id = Long.parseLong(change.token());
+            if (id > subscriber.lastId) {
+                if (!subscriber.buffer.offer(SseEmitter.event().id(change.token()).name("change").data(change))) {
+                    return false;
+                }
+                subscriber.lastId = id;
+                subscriber.lastQueuedAt = now;
+            }
+        }
+        // A comment now and then keeps proxies from closing an idle stream and detects clients that went away.
+        if (now - subscriber.lastQueuedAt >= heartbeatMillis) {
+            if (!subscriber.buffer.offer(SseEmitter.event().comment("heartbeat"))) {
+                return false;
+            }
+            subscriber.lastQueuedAt = now;
+        }
+        return true;
+    }
+
+    /**
+     * Send the queued events of a subscriber on the task executor, unless a task is already doing so.
+     */
+    private void drain(Subscriber subscriber) {
+        if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = subscriber.buffer.poll()) != null) {
+                    subscriber.emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            } finally {
+                subscriber.draining.set(false);
+            }
+            // Events queued after the last poll of the buffer and before the flag was cleared.
+            drain(subscriber);
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastId;
+        private long lastQueuedAt = System.currentTimeMillis();
+
+        private Subscriber(SseEmitter emitter, long lastId, int bufferSize) {
+            this.emitter = emitter;
+            this.lastId = lastId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.productmanager.changes;
+
+import com.example.productmanager.datasource.PrimaryReads;
+import com.example.productmanager.dto.ProductChangeEntry;
+import com.example.productmanager.dto.ProductSummary;
+import com.example.productmanager.exception.InvalidCursorException;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox of product and category writes, read back as a change feed.
+ * Changes are collected during the transaction of the write and inserted right before it commits, after the
+ * entity changes are flushed, so they become visible exactly when the write commits.
+ * <p>
+ * Ids are assigned at insert rather than at commit, so a transaction can commit a lower id after a higher one has
+ * been served. Each transaction of this instance therefore announces itself before inserting its changes, together
+ * with an id already assigned at that point, and withdraws once it completed; changes are only served up to the
+ * lowest id announced by a transaction still in progress. A transaction of another instance is not known here;
+ * because its changes are its last statements, it can only slip in behind a served id during its commit.
+ * Compaction deletes changes superseded by a later change of the same entity: the table stays proportional to the
+ * catalogue, and a consumer resuming from an old token still receives the latest change of every entity.
+ */
+@Slf4j
+@Component
+public class ProductChangeLog {
+    private static final String INSERT_CHANGE = "INSERT INTO product_change (entity_type, entity_id, operation, changed_at, payload) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final ProductChangeRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Set<PendingWrite> pendingWrites = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastKnownId = new AtomicLong();
+
+    public ProductChangeLog(ProductChangeRepository repository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                            EntityManager entityManager) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Append a product change to the transaction of the write. The payload carries the category id but not its name,
+     * which consumers receive with the category's own changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Product product, ProductChange.Operation operation) {
+        append(ProductChange.EntityType.PRODUCT, product.getId(), operation, summarize(product));
+    }
+
+    /**
+     * Append the changes of many products; they are inserted as one JDBC batch with the other changes of the
+     * transaction.
+     *
+     * @param products  the products as they are after the write; the category name is not sent
+     * @param operation the operation applied to every product
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<ProductSummary> products, ProductChange.Operation operation) {
+        for (ProductSummary product : products) {
+            append(ProductChange.EntityType.PRODUCT, product.id(), operation,
+                    new ProductSummary(product.id(), product.name(), product.description(), product.price(),
+                            product.createdAt(), product.updatedAt(), product.available(), product.idCategory(), null));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Category category, ProductChange.Operation operation) {
+        append(ProductChange.EntityType.CATEGORY, category.getId(), operation, category);
+    }
+
+    /**
+     * Read the changes after the given position that no transaction of this instance can still commit below.
+     * The changes are read from the primary: ids are assigned and committed there.
+     *
+     * @param lastId the id of the last change the consumer has seen, 0 for the beginning
+     * @param limit  the maximum number of changes
+     * @return the changes in id order
+     */
+    public List<ProductChangeEntry> readAfter(long lastId, int limit) {
+        long upTo = committedUpTo();
+        if (upTo <= lastId) {
+            return List.of();
+        }
+        return PrimaryReads.call(() -> repository.findAfter(lastId, upTo, PageRequest.of(0, limit))).stream()
+                .map(ProductChangeEntry::of)
+                .toList();
+    }
+
+    /**
+     * The highest id up to which every change is committed: the last committed id, lowered to the id announced by every
+     * transaction of this instance that is inserting its changes or committing them. The last id is read before the
+     * pending transactions, so a transaction that was assigned an id below it is either listed or already committed.
+     */
+    private long committedUpTo() {
+        Long lastId = PrimaryReads.call(repository::findLastId);
+        long upTo = lastId == null ? 0 : lastId;
+        lastKnownId.accumulateAndGet(upTo, Math::max);
+        for (PendingWrite write : pendingWrites) {
+            upTo = Math.min(upTo, write.floor);
+        }
+        return upTo;
+    }
+
+    public static long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long lastId = Long.parseLong(token.trim());
+            if (lastId < 0) {
+                throw new InvalidCursorException("Invalid change token: " + token);
+            }
+            return lastId;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid change token: " + token);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.changes.compaction-interval:PT10M}")
+    public void compact() {
+        Long lastId = repository.findLastId();
+        if (lastId == null) {
+            return;
+        }
+        int removed = repository.deleteSupersededUpTo(lastId);
+        if (removed > 0) {
+            log.info("Compacted {} superseded product changes", removed);
+        }
+    }
+
+    /**
+     * The payload of a product change: the product with its category id but without the category name.
+     */
+    public static ProductSummary summarize(Product product) {
+        UUID categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+        return new ProductSummary(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getCreatedAt(), product.getUpdatedAt(), product.getAvailable(), categoryId, null);
+    }
+
+    private void append(ProductChange.EntityType entityType, UUID entityId, ProductChange.Operation operation, Object payload) {
+        outbox().changes.add(new PendingChange(entityType, entityId, operation, serialize(entityType, entityId, payload)));
+    }
+
+    /**
+     * The outbox of the current transaction. It is kept as a synchronization rather than a resource, so a nested
+     * transaction gets its own.
+     */
+    private Outbox outbox() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Outbox outbox && outbox.owner() == this) {
+                return outbox;
+            }
+        }
+        Outbox outbox = new Outbox();
+        TransactionSynchronizationManager.registerSynchronization(outbox);
+        return outbox;
+    }
+
+    /**
+     * Insert the changes of a committing transaction: a single change through the entity manager, several as one JDBC
+     * batch, as Hibernate does not batch inserts with identity ids.
+     */
+    private void insert(List<PendingChange> changes) {
+        Date changedAt = new Date();
+        if (changes.size() == 1) {
+            PendingChange change = changes.get(0);
+            entityManager.persist(ProductChange.builder()
+                    .entityType(change.entityType())
+                    .entityId(change.entityId())
+                    .operation(change.operation())
+                    .changedAt(changedAt)
+                    .payload(change.payload())
+                    .build());
+            return;
+        }
+        Timestamp timestamp = new Timestamp(changedAt.getTime());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, changes, changes.size(), (statement, change) -> bind(statement, change, timestamp));
+    }
+
+    private static void bind(PreparedStatement statement, PendingChange change, Timestamp changedAt) throws SQLException {
+        statement.setString(1, change.entityType().name());
+        statement.setString(2, change.entityId().toString());
+        statement.setString(3, change.operation().name());
+        statement.setTimestamp(4, changedAt);
+        statement.setString(5, change.payload());
+    }
+
+    /**
+     * Flush the entity changes of the transaction, so the changes are its last statements.
+     */
+    private void flushEntities() {
+        try {
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+
+    private String serialize(ProductChange.EntityType entityType, UUID entityId, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the change of " + entityType + " " + entityId, e);
+        }
+    }
+
+    private record PendingChange(ProductChange.EntityType entityType, UUID entityId, ProductChange.Operation operation,
+                                 String payload) {
+    }
+
+    /**
+     * A transaction between inserting its changes and completing. Its changes get ids above {@code floor}, an id that
+     * was already assigned when it announced itself.
+     */
+    private static final class PendingWrite {
+        private final long floor;
+
+        private PendingWrite(long floor) {
+            this.floor = floor;
+        }
+    }
+
+    private final class Outbox implements TransactionSynchronization {
+        private final List<PendingChange> changes = new ArrayList<>();
+        private PendingWrite write;
+
+        private ProductChangeLog owner() {
+            return ProductChangeLog.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (changes.isEmpty()) {
+                return;
+            }
+            flushEntities();
+            write = new PendingWrite(lastKnownId.get());
+            pendingWrites.add(write);
+            insert(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (write != null) {
+                pendingWrites.remove(write);
+            }
+        }
+    }
+}
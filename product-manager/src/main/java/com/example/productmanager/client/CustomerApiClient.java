@@ -0,0 +1,216 @@
+package com.example.productmanager.client;
+
+import com.example.productmanager.config.CustomerApiProperties;
+import com.example.productmanager.exception.CircuitOpenException;
+import com.example.productmanager.exception.CustomerApiException;
+import com.example.productmanager.model.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for the remote customer API.
+ * Every call is bounded by a timeout and a concurrency limit, idempotent calls are retried with
+ * jittered exponential backoff, and a circuit breaker fails calls fast while the API is down.
+ * Each HTTP attempt is timed as {@code customer.api.requests}, tagged with the method and outcome.
+ * The HTTP client runs on a pool of its own, shut down with the bean. Callers must not run blocking work on it:
+ * stages that touch the database continue on the application task executor instead.
+ * A call beyond the concurrency limit fails at once rather than parking the caller.
+ */
+@Component
+public class CustomerApiClient implements DisposableBean {
+    private static final TypeReference<List<Customer>> CUSTOMER_LIST = new TypeReference<>() {
+    };
+
+    private final CustomerApiProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+
+    public CustomerApiClient(CustomerApiProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("customer-api-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(2, properties.getMaxConcurrentRequests() / 4), threadFactory);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.permits = new Semaphore(properties.getMaxConcurrentRequests());
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        this.retries = meterRegistry.counter("customer.api.retries");
+        Gauge.builder("customer.api.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half open")
+                .register(meterRegistry);
+        Gauge.builder("customer.api.permits.available", permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<List<Customer>> findAll() {
+        return send(() -> request("").GET().build(), true)
+                .thenApply(body -> read(body, CUSTOMER_LIST));
+    }
+
+    public CompletableFuture<Customer> findById(Long id) {
+        return send(() -> request("/" + id).GET().build(), true)
+                .thenApply(body -> read(body, Customer.class));
+    }
+
+    public CompletableFuture<Customer> create(Customer customer) {
+        return send(() -> request("").POST(json(customer)).build(), false)
+                .thenApply(body -> read(body, Customer.class));
+    }
+
+    public CompletableFuture<Customer> update(Long id, Customer customer) {
+        return send(() -> request("/" + id).PUT(json(customer)).build(), true)
+                .thenApply(body -> read(body, Customer.class));
+    }
+
+    public CompletableFuture<Void> delete(Long id) {
+        return send(() -> request("/" + id).DELETE().build(), true)
+                .thenApply(body -> null);
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private CompletableFuture<String> send(Supplier<HttpRequest> request, boolean idempotent) {
+        if (!permits.tryAcquire()) {
+            rejected("BULKHEAD");
+            return CompletableFuture.failedFuture(new CustomerApiException("Too many concurrent customer API calls"));
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            permits.release();
+            rejected("CIRCUIT_OPEN");
+            return CompletableFuture.failedFuture(new CircuitOpenException("Customer API circuit is open"));
+        }
+        int attempts = idempotent ? properties.getMaxAttempts() : 1;
+        return attempt(request, 1, attempts)
+                .whenComplete((body, error) -> {
+                    permits.release();
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                });
+    }
+
+    private CompletableFuture<String> attempt(Supplier<HttpRequest> request, int attempt, int maxAttempts) {
+        HttpRequest httpRequest = request.get();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    sample.stop(timer(httpRequest.method(), response, error));
+                    if (error == null && response.statusCode() < 300) {
+                        return CompletableFuture.completedFuture(response.body());
+                    }
+                    boolean retryable = error != null || response.statusCode() >= 500 || response.statusCode() == 429;
+                    if (retryable && attempt < maxAttempts) {
+                        retries.increment();
+                        Executor delayed = CompletableFuture.delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS);
+                        return CompletableFuture.supplyAsync(() -> null, delayed)
+                                .thenCompose(ignored -> attempt(request, attempt + 1, maxAttempts));
+                    }
+                    CustomerApiException failure = error != null
+                            ? new CustomerApiException("Customer API call failed: " + error.getMessage(), error)
+                            : new CustomerApiException("Customer API returned " + response.statusCode());
+                    return CompletableFuture.<String>failedFuture(failure);
+                })
+                .thenCompose(future -> future);
+    }
+
+    private Timer timer(String method, HttpResponse<?> response, Throwable error) {
+        String outcome;
+        if (error != null) {
+            outcome = error instanceof HttpTimeoutException || error.getCause() instanceof HttpTimeoutException
+                    ? "TIMEOUT" : "IO_ERROR";
+        } else if (response.statusCode() < 300) {
+            outcome = "SUCCESS";
+        } else if (response.statusCode() < 500) {
+            outcome = "CLIENT_ERROR";
+        } else {
+            outcome = "SERVER_ERROR";
+        }
+        return Timer.builder("customer.api.requests")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("status", response == null ? "NONE" : String.valueOf(response.statusCode()))
+                .register(meterRegistry);
+    }
+
+    private void rejected(String reason) {
+        meterRegistry.counter("customer.api.rejected", "reason", reason).increment();
+    }
+
+    /**
+     * Full-jitter exponential backoff: a random delay between zero and the capped exponential bound.
+     */
+    private long backoff(int attempt) {
+        long bound = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(properties.getBaseUrl() + path))
+                .timeout(properties.getRequestTimeout())
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new CustomerApiException("Invalid customer API response", e);
+        }
+    }
+
+    private <T> T read(String body, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new CustomerApiException("Invalid customer API response", e);
+        }
+    }
+}
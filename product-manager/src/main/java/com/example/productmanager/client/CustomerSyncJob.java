@@ -0,0 +1,78 @@
+package com.example.productmanager.client;
+
+import com.example.productmanager.model.Customer;
+import com.example.productmanager.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Mirrors the remote customer list into the local Customer table in the background.
+ * The table is written on the application task executor, not on the HTTP client's pool.
+ */
+@Slf4j
+@Component
+public class CustomerSyncJob {
+    private final CustomerApiClient customerApiClient;
+    private final CustomerRepository customerRepository;
+    private final TaskExecutor taskExecutor;
+    private final AtomicReference<CompletableFuture<Void>> running = new AtomicReference<>();
+
+    public CustomerSyncJob(CustomerApiClient customerApiClient,
+                           CustomerRepository customerRepository,
+                           @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.customerApiClient = customerApiClient;
+        this.customerRepository = customerRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${customer.sync.interval:PT5M}", initialDelayString = "${customer.sync.initial-delay:PT10S}")
+    public void scheduledSync() {
+        requestSync();
+    }
+
+    /**
+     * Start a sync unless one is already in progress, in which case the call joins it. Never blocks the caller.
+     *
+     * @return a future that completes when the sync triggered or joined by this call is done
+     */
+    public CompletableFuture<Void> requestSync() {
+        CompletableFuture<Void> sync = new CompletableFuture<>();
+        CompletableFuture<Void> inProgress = running.compareAndExchange(null, sync);
+        if (inProgress != null) {
+            return inProgress;
+        }
+        customerApiClient.findAll()
+                .thenAcceptAsync(this::replaceLocalCustomers, taskExecutor)
+                .whenComplete((ignored, error) -> {
+                    // Cleared first, so a caller woken by the completion can start the next sync.
+                    running.set(null);
+                    if (error != null) {
+                        log.warn("Customer sync failed: {}", error.getMessage());
+                        sync.completeExceptionally(error);
+                    } else {
+                        sync.complete(null);
+                    }
+                });
+        return sync;
+    }
+
+    private void replaceLocalCustomers(List<Customer> customers) {
+        Set<Long> remoteIds = customers.stream().map(Customer::getId).collect(Collectors.toSet());
+        List<Long> removed = customerRepository.findAllIds().stream()
+                .filter(id -> !remoteIds.contains(id))
+                .toList();
+        customerRepository.saveAll(customers);
+        customerRepository.deleteAllByIdInBatch(removed);
+        log.debug("Synced {} customers, removed {}", customers.size(), removed.size());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.productmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer.api")
+public class CustomerApiProperties {
+    private String baseUrl = "https://650d8c41a8b42265ec2c5ef1.mockapi.io/api/customer";
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    private int maxConcurrentRequests = 20;
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package com.example.productmanager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas that serve {@code @Transactional(readOnly = true)} work when {@code enabled}.
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private List<Replica> instances = new ArrayList<>();
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    /**
+     * How long a user's reads stay on the primary after the user committed a write.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    /**
+     * Optional query returning a replica's lag in seconds; a replica lagging more than {@code maxLag} is not used.
+     */
+    private String lagQuery;
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
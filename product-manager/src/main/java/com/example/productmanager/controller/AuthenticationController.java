@@ -6,9 +6,7 @@ import com.example.productmanager.service.AuthenticationService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 
@@ -24,4 +22,10 @@ public class AuthenticationController {
         return authenticationService.createAuthenticationToken(request, response);
     }
 
+    @PostMapping("/authentication/revoke")
+    public ResponseEntity<String> revokeToken(@RequestHeader("Authorization") String authorization,
+                                              @RequestParam(defaultValue = "false") boolean allSessions) {
+        return authenticationService.revokeToken(authorization.substring("Bearer ".length()), allSessions);
+    }
+
 }
@@ -0,0 +1,32 @@
+package com.example.productmanager.controller;
+
+import com.example.productmanager.cache.CacheRegistry;
+import com.example.productmanager.cache.SecondLevelCacheStats;
+import com.example.productmanager.dto.CacheRegionStats;
+import com.example.productmanager.dto.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final CacheRegistry cacheRegistry;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(cacheRegistry.stats());
+    }
+
+    @GetMapping("/regions")
+    public ResponseEntity<Map<String, CacheRegionStats>> getRegionStats() {
+        return ResponseEntity.ok(secondLevelCacheStats.stats());
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.productmanager.controller;
 
 import com.example.productmanager.dto.CategoryDTO;
+import com.example.productmanager.dto.CategoryDeletionJob;
+import com.example.productmanager.dto.CategoryStats;
+import com.example.productmanager.dto.CursorPage;
 import com.example.productmanager.exception.CategoryNotFoundException;
 import com.example.productmanager.model.Category;
+import com.example.productmanager.service.CategoryDeletionService;
 import com.example.productmanager.service.CategoryService;
+import com.example.productmanager.untils.ETagUntil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.text.ParseException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -19,15 +27,32 @@ import java.util.UUID;
 public class CategoryController {
 
     private final CategoryService service;
+    private final CategoryDeletionService deletionService;
 
     @GetMapping("/all")
     public ResponseEntity<Page<Category>> paginationCategories(@RequestParam(defaultValue = "0") Integer page) {
         return service.paginationCategories(page, 5);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<Category>> scrollCategories(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "5") Integer size) {
+        return service.scrollCategories(cursor, Math.min(Math.max(size, 1), 100));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CategoryStats>> getAllCategoryStats() {
+        return service.getAllCategoryStats();
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CategoryStats> getCategoryStats(@PathVariable("id") UUID id) {
+        return service.getCategoryStats(id);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategoryById(@PathVariable("id") UUID id) {
-        return service.getCategoryById(id);
+        return ETagUntil.withETag(service.getCategoryById(id), Category::getVersion);
     }
 
     @PostMapping("/add")
@@ -36,12 +61,32 @@ public class CategoryController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<Category> updateCategory(@PathVariable("id") UUID id, @RequestBody @Valid CategoryDTO categoryDTO) throws CategoryNotFoundException, ParseException {
-        return service.updateCategory(id, categoryDTO);
+    public ResponseEntity<Category> updateCategory(@PathVariable("id") UUID id, @RequestBody @Valid CategoryDTO categoryDTO,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws CategoryNotFoundException, ParseException {
+        Long expectedVersion = ETagUntil.parseIfMatch(ifMatch);
+        ResponseEntity<Category> response = expectedVersion == null
+                ? service.updateCategory(id, categoryDTO)
+                : service.updateCategory(id, categoryDTO, expectedVersion);
+        return ETagUntil.withETag(response, Category::getVersion);
     }
 
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<String> deleteCategory(@PathVariable("id") UUID id) throws CategoryNotFoundException {
         return service.deleteCategory(id);
     }
+
+    @PostMapping("/{id}/deletion")
+    public ResponseEntity<CategoryDeletionJob> startDeletion(@PathVariable("id") UUID id,
+                                                             @RequestParam(defaultValue = "DELETE") CategoryDeletionJob.Mode products,
+                                                             @RequestParam(required = false) UUID targetId) {
+        ResponseEntity<CategoryDeletionJob> response = deletionService.startDeletion(id, products, targetId);
+        return ResponseEntity.status(response.getStatusCode())
+                .location(URI.create("/category/deletion/" + response.getBody().getId()))
+                .body(response.getBody());
+    }
+
+    @GetMapping("/deletion/{jobId}")
+    public ResponseEntity<CategoryDeletionJob> getDeletion(@PathVariable("jobId") UUID jobId) {
+        return deletionService.getJob(jobId);
+    }
 }
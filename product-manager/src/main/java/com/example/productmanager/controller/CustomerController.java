@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -20,17 +21,17 @@ public class CustomerController {
     }
 
     @PostMapping("/add")
-    public ResponseEntity<Customer> addCustomer(@RequestBody Customer customer) {
+    public CompletableFuture<ResponseEntity<Customer>> addCustomer(@RequestBody Customer customer) {
         return service.addCustomer(customer);
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<Customer> updateCustomer(@PathVariable("id") Long id, @RequestBody Customer customer) {
+    public CompletableFuture<ResponseEntity<Customer>> updateCustomer(@PathVariable("id") Long id, @RequestBody Customer customer) {
         return service.updateCustomer(id, customer);
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<String> addCustomer(@PathVariable("id") Long id) {
+    public CompletableFuture<ResponseEntity<String>> addCustomer(@PathVariable("id") Long id) {
         return service.deleteCustomer(id);
     }
 }
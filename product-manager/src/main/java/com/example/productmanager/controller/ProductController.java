@@ -1,15 +1,35 @@
 package com.example.productmanager.controller;
 
+import com.example.productmanager.dto.BulkProductRequest;
+import com.example.productmanager.dto.BulkUpdateReport;
+import com.example.productmanager.dto.ChangeFeedPage;
+import com.example.productmanager.dto.CursorPage;
+import com.example.productmanager.dto.ImportReport;
 import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.dto.ProductSummary;
+import com.example.productmanager.dto.SearchPage;
 import com.example.productmanager.exception.ProductNotFoundException;
 import com.example.productmanager.model.Product;
+import com.example.productmanager.service.ProductBulkService;
+import com.example.productmanager.service.ProductChangeService;
+import com.example.productmanager.service.ProductExportService;
+import com.example.productmanager.service.ProductImportService;
+import com.example.productmanager.service.ProductSearchService;
 import com.example.productmanager.service.ProductService;
+import com.example.productmanager.untils.ETagUntil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,20 +38,41 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService service;
+    private final ProductExportService exportService;
+    private final ProductImportService importService;
+    private final ProductSearchService searchService;
+    private final ProductChangeService changeService;
+    private final ProductBulkService bulkService;
 
     @GetMapping("/all")
-    public ResponseEntity<Page<Product>> paginationCategories(@RequestParam(defaultValue = "0") Integer page) {
+    public ResponseEntity<Page<ProductSummary>> paginationCategories(@RequestParam(defaultValue = "0") Integer page) {
         return service.paginationProducts(page, 5);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<Product>> scrollProducts(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "5") Integer size) {
+        return service.scrollProducts(cursor, Math.min(Math.max(size, 1), 100));
+    }
+
     @PostMapping("/add")
     public ResponseEntity<Product> addProduct(@RequestBody @Valid ProductDTO productDTO) {
         return service.addProduct(productDTO);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importProducts(HttpServletRequest request) throws IOException {
+        return importService.importProducts(request.getInputStream(), request.getContentType());
+    }
+
     @PutMapping("/update/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable("id") UUID id, @RequestBody @Valid ProductDTO productDTO) throws ProductNotFoundException {
-        return service.updateProduct(id, productDTO);
+    public ResponseEntity<Product> updateProduct(@PathVariable("id") UUID id, @RequestBody @Valid ProductDTO productDTO,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws ProductNotFoundException {
+        Long expectedVersion = ETagUntil.parseIfMatch(ifMatch);
+        ResponseEntity<Product> response = expectedVersion == null
+                ? service.updateProduct(id, productDTO)
+                : service.updateProduct(id, productDTO, expectedVersion);
+        return ETagUntil.withETag(response, Product::getVersion);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -39,13 +80,67 @@ public class ProductController {
         return service.deleteProduct(id);
     }
 
+    @PutMapping("/bulk/availability")
+    public ResponseEntity<BulkUpdateReport> updateAvailability(@RequestParam boolean available,
+                                                               @RequestBody @Valid BulkProductRequest request) {
+        return bulkService.updateAvailability(request, available);
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkUpdateReport> deleteProducts(@RequestBody @Valid BulkProductRequest request) {
+        return bulkService.updateAvailability(request, false);
+    }
+
     @GetMapping("/sort-by-price")
-    public ResponseEntity<Page<Product>> sortByPrice(@RequestParam(defaultValue = "0") Integer page) {
+    public ResponseEntity<Page<ProductSummary>> sortByPrice(@RequestParam(defaultValue = "0") Integer page) {
         return service.sortProductByPriceDesc(page, 5);
     }
 
+    @GetMapping("/sort-by-price/scroll")
+    public ResponseEntity<CursorPage<Product>> scrollByPrice(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "5") Integer size) {
+        return service.scrollProductsByPriceDesc(cursor, Math.min(Math.max(size, 1), 100));
+    }
+
     @GetMapping("/find-by-name")
     public ResponseEntity<Product> findByName(@RequestParam String name) {
         return service.findByProductName(name);
     }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage> search(@RequestParam("q") String query,
+                                             @RequestParam(defaultValue = "0") Integer page,
+                                             @RequestParam(defaultValue = "10") Integer size) {
+        return searchService.search(query, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocomplete(@RequestParam String prefix,
+                                                     @RequestParam(defaultValue = "10") Integer limit) {
+        return searchService.autocomplete(prefix, Math.min(Math.max(limit, 1), 50));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(required = false) UUID categoryId,
+                                                                @RequestParam(required = false) Boolean available,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportService.exportProducts(categoryId, available, gzip);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedPage> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "500") Integer limit) {
+        return changeService.getChanges(since, Math.min(Math.max(limit, 1), 1000));
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeService.streamChanges(lastEventId != null ? lastEventId : since);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProductById(@PathVariable("id") UUID id) {
+        return ETagUntil.withETag(service.getProductById(id), Product::getVersion);
+    }
 }
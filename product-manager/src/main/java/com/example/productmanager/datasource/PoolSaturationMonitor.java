@@ -0,0 +1,94 @@
+package com.example.productmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Samples the Hikari pool and raises an alarm while it is saturated: the share of connections in use is at or above
+ * the threshold, or requests are queued waiting for a connection.
+ * Publishes {@code hikaricp.connections.utilization}, the {@code hikaricp.connections.saturated} alarm (0 or 1)
+ * and a {@code hikaricp.connections.saturation.events} counter, and logs each transition.
+ */
+@Slf4j
+@Component
+public class PoolSaturationMonitor {
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final double threshold;
+    private HikariDataSource hikari;
+    private Counter saturationEvents;
+    private volatile double utilization;
+    private volatile boolean saturated;
+
+    public PoolSaturationMonitor(DataSource dataSource, MeterRegistry meterRegistry,
+                                 @Value("${datasource.saturation.threshold:0.9}") double threshold) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.saturation.check-interval:PT5S}")
+    public void check() {
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return;
+        }
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        utilization = (double) active / hikari.getMaximumPoolSize();
+        boolean nowSaturated = utilization >= threshold || waiting > 0;
+        if (nowSaturated && !saturated) {
+            saturationEvents.increment();
+            log.warn("Connection pool {} saturated: {} of {} connections in use, {} requests waiting",
+                    hikari.getPoolName(), active, hikari.getMaximumPoolSize(), waiting);
+        } else if (!nowSaturated && saturated) {
+            log.info("Connection pool {} recovered: {} of {} connections in use",
+                    hikari.getPoolName(), active, hikari.getMaximumPoolSize());
+        }
+        saturated = nowSaturated;
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    /**
+     * The pool starts with the first connection, so the meters are registered on the first sample that finds it.
+     */
+    private HikariPoolMXBean pool() {
+        if (hikari == null) {
+            try {
+                if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return null;
+                }
+                hikari = dataSource.unwrap(HikariDataSource.class);
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null && saturationEvents == null) {
+            String name = hikari.getPoolName();
+            Gauge.builder("hikaricp.connections.utilization", this, monitor -> monitor.utilization)
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder("hikaricp.connections.saturated", this, monitor -> monitor.saturated ? 1 : 0)
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            saturationEvents = Counter.builder("hikaricp.connections.saturation.events")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.productmanager.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks lookups whose results are kept in caches shared by every user, so the {@link ReplicaRoutingDataSource} serves
+ * them from the primary even inside a read-only transaction. A lagging replica would otherwise put rows older than a
+ * committed write back into the cache after that write evicted them, and every user, the writer included, would read
+ * them until they expire. Without replicas the lookup simply runs.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Run a lookup whose connections come from the primary.
+     * The lookup must open its own transaction: a transaction already holding a connection keeps it.
+     *
+     * @param lookup the lookup to run
+     * @return the result of the lookup
+     */
+    public static <T> T call(Supplier<T> lookup) {
+        if (Boolean.TRUE.equals(ACTIVE.get())) {
+            return lookup.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return lookup.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.productmanager.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently, so their reads go to the primary until the replicas have
+ * caught up and a user never reads data older than their own write. Anonymous work is not tracked.
+ */
+public class ReadYourWritesGuard {
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ReadYourWritesGuard(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public void recordWrite(String user) {
+        if (user != null) {
+            lastWrites.put(user, System.currentTimeMillis());
+        }
+    }
+
+    public boolean isRecentWriter(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(user);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis;
+    }
+
+    public boolean isCurrentUserRecentWriter() {
+        return isRecentWriter(currentUser());
+    }
+
+    /**
+     * Forget the users whose window has passed.
+     */
+    public void prune() {
+        long expiredBefore = System.currentTimeMillis() - windowMillis;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < expiredBefore);
+    }
+
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
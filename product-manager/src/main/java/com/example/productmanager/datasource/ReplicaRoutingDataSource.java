@@ -0,0 +1,222 @@
+package com.example.productmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of read-only transactions to a healthy replica, picked round robin, and every other
+ * connection to the primary. A user's reads stay on the primary for a short window after the user committed a write,
+ * so replica lag never hides their own change; a replica that fails to hand out a connection is marked down and the
+ * read falls back to the primary until {@link #checkHealth()} finds the replica healthy again.
+ * <p>
+ * Lookups run through {@link PrimaryReads} fill shared caches and always go to the primary. A session reading from a
+ * replica only reads the second-level and query caches and puts nothing into them, so rows a replica has not caught up
+ * on never replace newer ones there.
+ * <p>
+ * The transaction manager asks for its connection before the transaction is marked read-only, so this data source
+ * must be wrapped in a {@code LazyConnectionDataSourceProxy}, which defers the choice to the first statement.
+ * Publishes {@code datasource.routed} per target, a {@code datasource.replica.fallbacks} counter and
+ * {@code datasource.replicas.healthy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesGuard guard;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter routedToPrimary;
+    private final Counter routedToReplica;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesGuard guard,
+                                    String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.guard = guard;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.routedToPrimary = Counter.builder("datasource.routed").tag("target", "primary").register(meterRegistry);
+        this.routedToReplica = Counter.builder("datasource.routed").tag("target", "replica").register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks").register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicas).register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryReads.isActive()
+                && !guard.isRecentWriter(ReadYourWritesGuard.currentUser())) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                routedToReplica.increment();
+                stopCachePuts();
+                return connection;
+            }
+        }
+        routedToPrimary.increment();
+        Connection connection = primary.getConnection();
+        recordWriteOnCommit();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("The routing data source only hands out connections of its pools");
+    }
+
+    /**
+     * Check every replica: it must hand out a valid connection and, when a lag query is configured, lag no more than
+     * the allowed seconds behind the primary. A replica failing the check drops its pooled connections, so the next
+     * check opens fresh ones once it is back. Also forgets the writers whose window has passed.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica.dataSource);
+            if (problem == null && !replica.healthy) {
+                log.info("Replica {} is healthy again", replica.dataSource);
+            } else if (problem != null && replica.healthy) {
+                log.warn("Replica {} taken out of rotation: {}", replica.dataSource, problem);
+            }
+            if (problem != null) {
+                evictConnections(replica.dataSource);
+            }
+            replica.healthy = problem == null;
+        }
+        guard.prune();
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * The pool monitor looks for the primary pool, so unwrapping goes to the primary.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || primary.isWrapperFor(type);
+    }
+
+    private Connection replicaConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} taken out of rotation: {}", replica.dataSource, e.getMessage());
+            }
+        }
+        if (size > 0) {
+            fallbacks.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Remember the user once a read-write transaction on the primary commits, so their next reads see the write.
+     */
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = ReadYourWritesGuard.currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guard.recordWrite(user);
+            }
+        });
+    }
+
+    /**
+     * Switch the sessions of the current transaction to only read the second-level and query caches.
+     */
+    private static void stopCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private String probe(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(1)) {
+                return "connection is not valid";
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lag = resultSet.next() ? resultSet.getLong(1) : 0;
+                return lag > maxLagSeconds ? "lagging " + lag + " s behind the primary" : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void evictConnections(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                if (pool != null) {
+                    pool.softEvictConnections();
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Could not evict the connections of {}", dataSource, e);
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
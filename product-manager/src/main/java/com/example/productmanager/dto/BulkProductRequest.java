@@ -0,0 +1,48 @@
+package com.example.productmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the products of a bulk operation, either by id or by a filter whose criteria are combined with AND.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkProductRequest {
+    private List<UUID> ids;
+    private UUID idCategory;
+    private String namePrefix;
+    private Double minPrice;
+    private Double maxPrice;
+
+    @JsonIgnore
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    @JsonIgnore
+    public boolean hasFilter() {
+        return idCategory != null || (namePrefix != null && !namePrefix.isEmpty()) || minPrice != null || maxPrice != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Give either ids or a filter")
+    public boolean isSelection() {
+        return hasIds() != hasFilter();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "minPrice is greater than maxPrice")
+    public boolean isPriceRange() {
+        return minPrice == null || maxPrice == null || minPrice <= maxPrice;
+    }
+}
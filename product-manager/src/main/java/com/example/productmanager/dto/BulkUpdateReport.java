@@ -0,0 +1,16 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateReport {
+    private long updated;
+    /**
+     * Requested ids that were not changed because they do not exist or already had the requested availability.
+     */
+    private long skipped;
+}
@@ -0,0 +1,47 @@
+package com.example.productmanager.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Progress of a background category deletion. Written by the job's thread and read by status requests,
+ * hence the volatile fields.
+ */
+@Getter
+@Setter
+public class CategoryDeletionJob {
+
+    public enum Mode {
+        /** Delete the products together with the category. */
+        DELETE,
+        /** Make the products unavailable and the category inactive, deleting nothing. */
+        DEACTIVATE,
+        /** Move the products to another category, then delete the category. */
+        REASSIGN
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID categoryId;
+    private final Mode mode;
+    private final UUID targetCategoryId;
+    private final long total;
+    private final Date startedAt = new Date();
+    private volatile long processed;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private volatile Date finishedAt;
+
+    public CategoryDeletionJob(UUID categoryId, Mode mode, UUID targetCategoryId, long total) {
+        this.categoryId = categoryId;
+        this.mode = mode;
+        this.targetCategoryId = targetCategoryId;
+        this.total = total;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryStats {
+    private UUID categoryId;
+    private String categoryName;
+    private long productCount;
+    private long availableCount;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double averagePrice;
+}
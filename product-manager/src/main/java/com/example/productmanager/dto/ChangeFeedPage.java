@@ -0,0 +1,19 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeFeedPage {
+    private List<ProductChangeEntry> changes;
+    /**
+     * The token to pass as {@code since} on the next request; unchanged when there were no new changes.
+     */
+    private String next;
+    private boolean hasMore;
+}
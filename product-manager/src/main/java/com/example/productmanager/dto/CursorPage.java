@@ -0,0 +1,37 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Build a page from a seek query that fetched one row more than the page size.
+     *
+     * @param rows     the rows returned by the query, at most pageSize + 1
+     * @param pageSize the requested page size
+     * @param cursorOf maps the last row of the page to its continuation token
+     * @return the page, with a next cursor only if more rows exist
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, rows.size(), null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, pageSize, cursorOf.apply(content.get(pageSize - 1)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+    private long total;
+    private long imported;
+    private long rejected;
+    private List<ImportRowResult> rows = new ArrayList<>();
+}
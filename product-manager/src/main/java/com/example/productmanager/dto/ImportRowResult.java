@@ -0,0 +1,20 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportRowResult {
+    private long row;
+    private String name;
+    private String status;
+    private UUID idProduct;
+    private String message;
+}
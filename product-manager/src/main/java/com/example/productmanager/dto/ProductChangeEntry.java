@@ -0,0 +1,23 @@
+package com.example.productmanager.dto;
+
+import com.example.productmanager.model.ProductChange;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * One change of the feed. The payload is the JSON stored in the outbox, written out as is.
+ */
+public record ProductChangeEntry(String token,
+                                 ProductChange.EntityType entityType,
+                                 UUID entityId,
+                                 ProductChange.Operation operation,
+                                 Date changedAt,
+                                 @JsonRawValue String payload) {
+
+    public static ProductChangeEntry of(ProductChange change) {
+        return new ProductChangeEntry(String.valueOf(change.getId()), change.getEntityType(), change.getEntityId(),
+                change.getOperation(), change.getChangedAt(), change.getPayload());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHit {
+    private UUID id;
+    private String name;
+    private String description;
+    private Double price;
+    private float score;
+}
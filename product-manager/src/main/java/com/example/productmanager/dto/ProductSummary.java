@@ -0,0 +1,11 @@
+package com.example.productmanager.dto;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read-only row of the product list endpoints, loaded with its category name in a single query.
+ */
+public record ProductSummary(UUID id, String name, String description, Double price, Date createdAt,
+                             Date updatedAt, Boolean available, UUID idCategory, String categoryName) {
+}
@@ -0,0 +1,17 @@
+package com.example.productmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPage {
+    private List<ProductSearchHit> content;
+    private int page;
+    private int size;
+    private long totalHits;
+}
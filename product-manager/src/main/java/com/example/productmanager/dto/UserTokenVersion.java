@@ -0,0 +1,7 @@
+package com.example.productmanager.dto;
+
+/**
+ * The current token version of a user; tokens carrying a lower version are revoked.
+ */
+public record UserTokenVersion(String email, long tokenVersion) {
+}
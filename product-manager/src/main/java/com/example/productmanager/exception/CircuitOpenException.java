@@ -0,0 +1,7 @@
+package com.example.productmanager.exception;
+
+public class CircuitOpenException extends CustomerApiException {
+    public CircuitOpenException(String msg) {
+        super(msg);
+    }
+}
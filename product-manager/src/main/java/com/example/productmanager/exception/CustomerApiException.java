@@ -0,0 +1,11 @@
+package com.example.productmanager.exception;
+
+public class CustomerApiException extends RuntimeException {
+    public CustomerApiException(String msg) {
+        super(msg);
+    }
+
+    public CustomerApiException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
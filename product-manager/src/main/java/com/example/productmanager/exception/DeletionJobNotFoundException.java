@@ -0,0 +1,7 @@
+package com.example.productmanager.exception;
+
+public class DeletionJobNotFoundException extends RuntimeException {
+    public DeletionJobNotFoundException(String msg) {
+        super(msg);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.productmanager.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -64,4 +65,68 @@ public class GlobalExceptionHandler {
         errorMap.put("Error message", e.getMessage());
         return errorMap;
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursorException(InvalidCursorException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(CircuitOpenException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleCircuitOpenException(CircuitOpenException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(CustomerApiException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public Map<String, String> handleCustomerApiException(CustomerApiException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Map<String, String> handlePasswordHashingBusyException(PasswordHashingBusyException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String, String> handlePreconditionFailedException(PreconditionFailedException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String, String> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", "The resource was modified concurrently, reload it and retry");
+        return errorMap;
+    }
+
+    @ExceptionHandler(InvalidDeletionRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidDeletionRequestException(InvalidDeletionRequestException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
+
+    @ExceptionHandler(DeletionJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> handleDeletionJobNotFoundException(DeletionJobNotFoundException e) {
+        Map<String, String> errorMap = new HashMap<>();
+        errorMap.put("Error message", e.getMessage());
+        return errorMap;
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.productmanager.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.productmanager.exception;
+
+public class InvalidDeletionRequestException extends RuntimeException {
+    public InvalidDeletionRequestException(String msg) {
+        super(msg);
+    }
+}
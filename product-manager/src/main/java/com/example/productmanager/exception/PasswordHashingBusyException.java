@@ -0,0 +1,7 @@
+package com.example.productmanager.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String msg) {
+        super(msg);
+    }
+}
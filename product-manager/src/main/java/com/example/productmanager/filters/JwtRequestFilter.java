@@ -1,15 +1,21 @@
 package com.example.productmanager.filters;
 
+import com.example.productmanager.cache.TokenCache;
+import com.example.productmanager.cache.TokenDenylist;
 import com.example.productmanager.service.impl.UserDetailServiceImpl;
 import com.example.productmanager.untils.JwtUntil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,26 +23,54 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    /**
+     * How a bearer token is verified once its signature and expiry have been checked.
+     */
+    public enum Verification {
+        /**
+         * Authenticate from the signed claims and the in-memory denylist, without touching the database.
+         */
+        STATELESS,
+        /**
+         * Also load the user the token names, caching the result until the token expires.
+         */
+        DATABASE
+    }
+
     private final UserDetailServiceImpl userDetailService;
     private final JwtUntil jwtUntil;
+    private final TokenCache tokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final Verification verification;
+
+    public JwtRequestFilter(UserDetailServiceImpl userDetailService, JwtUntil jwtUntil, TokenCache tokenCache,
+                            TokenDenylist tokenDenylist,
+                            @Value("${security.jwt.verification:stateless}") Verification verification) {
+        this.userDetailService = userDetailService;
+        this.jwtUntil = jwtUntil;
+        this.tokenCache = tokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.verification = verification;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUntil.extractUsername(token);
-        }
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailService.loadUserByUsername(username);
-
-            if (jwtUntil.validateToken(token, userDetails)) {
+        if (authHeader != null && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            UserDetails userDetails;
+            if (verification == Verification.STATELESS) {
+                userDetails = verifyClaims(token);
+            } else {
+                userDetails = tokenCache.get(token);
+                if (userDetails == null) {
+                    userDetails = verify(token);
+                }
+            }
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -44,4 +78,50 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Authenticate from the token alone: the signature vouches for the subject and authorities,
+     * and the denylist for revocation.
+     *
+     * @param token the bearer token
+     * @return the authenticated user, or null if the token is not valid or has been revoked
+     */
+    private UserDetails verifyClaims(String token) {
+        try {
+            Claims claims = jwtUntil.extractAllClaim(token);
+            if (isRevoked(claims)) {
+                return null;
+            }
+            return new User(claims.getSubject(), "", jwtUntil.extractAuthorities(claims));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse the token once, check it against the user it names and remember the result until the token expires.
+     *
+     * @param token the bearer token
+     * @return the authenticated user, or null if the token is not valid
+     */
+    private UserDetails verify(String token) {
+        try {
+            Claims claims = jwtUntil.extractAllClaim(token);
+            if (isRevoked(claims)) {
+                return null;
+            }
+            UserDetails userDetails = userDetailService.loadAuthenticatedUser(claims.getSubject());
+            if (!jwtUntil.validateClaims(claims, userDetails)) {
+                return null;
+            }
+            tokenCache.put(token, userDetails, claims.getExpiration().getTime());
+            return userDetails;
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private boolean isRevoked(Claims claims) {
+        return tokenDenylist.isRevoked(claims.getId(), claims.getSubject(), jwtUntil.extractTokenVersion(claims));
+    }
 }
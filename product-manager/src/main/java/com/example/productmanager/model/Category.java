@@ -4,23 +4,32 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import org.springframework.stereotype.Component;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
-@Component
 @Entity
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Table(name = "Category")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
 public class Category implements Cloneable {
+    public static final String CACHE_REGION = "category";
+    public static final String QUERY_CACHE_REGION = "category-queries";
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -32,7 +41,11 @@ public class Category implements Cloneable {
     @Temporal(TemporalType.DATE)
     private Date updatedAt;
     private Boolean active;
+    @Version
+    private Long version;
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     private List<Product> productList;
 
@@ -41,7 +54,8 @@ public class Category implements Cloneable {
     public Object clone() {
         try {
             Category clonedCategory = (Category) super.clone();
-            if (this.productList != null) {
+            // Copying an unloaded list would issue one SELECT for the whole collection.
+            if (this.productList != null && Hibernate.isInitialized(this.productList)) {
                 List<Product> clonedProductList = new ArrayList<>();
                 for (Product product : this.productList) {
                     clonedProductList.add((Product) product.clone());
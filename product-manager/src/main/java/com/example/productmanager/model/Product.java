@@ -4,19 +4,34 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 import java.util.UUID;
 
 @Entity
-@Table(name = "Product")
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
+@NamedEntityGraph(name = Product.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
+@Table(name = "Product", uniqueConstraints = @UniqueConstraint(name = Product.UNIQUE_NAME, columnNames = "name"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @SuperBuilder
 public class Product implements Cloneable {
+    public static final String UNIQUE_NAME = "UQ_Product_name";
+    public static final String CATEGORY_FOREIGN_KEY = "FK_Product_Category";
+    public static final String WITH_CATEGORY = "Product.category";
+    public static final String CACHE_REGION = "product";
+    public static final String QUERY_CACHE_REGION = "product-queries";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -26,10 +41,14 @@ public class Product implements Cloneable {
     private Date createdAt;
     private Date updatedAt;
     private Boolean available;
+    @Version
+    private Long version;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
-    @JoinColumn(name = "category_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = CATEGORY_FOREIGN_KEY))
     private Category category;
 
     @Override
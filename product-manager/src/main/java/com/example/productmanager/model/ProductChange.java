@@ -0,0 +1,47 @@
+package com.example.productmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Outbox row appended in the same transaction as a product or category write.
+ * The identity id orders the change feed and is the position consumers resume from.
+ */
+@Entity
+@Table(name = "product_change")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductChange {
+
+    public enum EntityType {
+        PRODUCT, CATEGORY
+    }
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private EntityType entityType;
+    @Column(nullable = false)
+    private UUID entityId;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Operation operation;
+    @Column(nullable = false)
+    private Date changedAt;
+    @Column(length = 2000, nullable = false)
+    private String payload;
+}
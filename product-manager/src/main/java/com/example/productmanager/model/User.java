@@ -22,4 +22,6 @@ public class User {
     private String email;
     private String password;
     private String phone;
+    @Column(nullable = false)
+    private long tokenVersion;
 }
@@ -1,19 +1,50 @@
 package com.example.productmanager.repository;
 
 import com.example.productmanager.model.Category;
+import com.example.productmanager.stats.CategoryStatsRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
+    String SELECT_STATS = "SELECT new com.example.productmanager.stats.CategoryStatsRow(c.id, c.name, count(p.id), " +
+            "sum(case when p.available = true then 1 else 0 end), " +
+            "sum(case when p.available = true and p.price is not null then 1 else 0 end), " +
+            "sum(case when p.available = true then p.price end), " +
+            "min(case when p.available = true then p.price end), " +
+            "max(case when p.available = true then p.price end)) " +
+            "FROM Category c LEFT JOIN c.productList p ";
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Category.QUERY_CACHE_REGION)})
     @Query("SELECT c FROM Category c where c.active = true")
     Page<Category> getAllCategories(Pageable pageable);
 
     Boolean existsByName(String name);
+
+    @Query("SELECT c.id FROM Category c where c.id in ?1")
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    @Query("SELECT c FROM Category c where c.active = true order by c.id")
+    List<Category> findFirstActive(Pageable pageable);
+
+    @Query("SELECT c FROM Category c where c.active = true and c.id > ?1 order by c.id")
+    List<Category> findActiveAfter(UUID lastId, Pageable pageable);
+
+    @Query(SELECT_STATS + "GROUP BY c.id, c.name")
+    List<CategoryStatsRow> computeStats();
+
+    @Query(SELECT_STATS + "WHERE c.id = ?1 GROUP BY c.id, c.name")
+    List<CategoryStatsRow> computeStats(UUID categoryId);
 }
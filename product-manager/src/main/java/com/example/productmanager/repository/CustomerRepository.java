@@ -2,6 +2,12 @@ package com.example.productmanager.repository;
 
 import com.example.productmanager.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    @Query("SELECT c.id FROM Customer c")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,27 @@
+package com.example.productmanager.repository;
+
+import com.example.productmanager.model.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    @Query("SELECT c FROM ProductChange c where c.id > ?1 and c.id <= ?2 order by c.id")
+    List<ProductChange> findAfter(Long lastId, Long upTo, Pageable pageable);
+
+    @Query("SELECT max(c.id) FROM ProductChange c")
+    Long findLastId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductChange c where c.id <= ?1 and exists " +
+            "(SELECT n.id FROM ProductChange n where n.entityType = c.entityType and n.entityId = c.entityId and n.id > c.id)")
+    int deleteSupersededUpTo(Long lastId);
+}
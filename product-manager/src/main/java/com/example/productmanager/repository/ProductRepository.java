@@ -1,24 +1,116 @@
 package com.example.productmanager.repository;
 
+import com.example.productmanager.dto.ProductSummary;
+import com.example.productmanager.model.Category;
 import com.example.productmanager.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductRepositoryCustom {
 
-    @Query("SELECT p FROM Product p where p.available = true")
-    Page<Product> getAllProducts(Pageable pageable);
+    @Query(value = "SELECT new com.example.productmanager.dto.ProductSummary(p.id, p.name, p.description, p.price, " +
+            "p.createdAt, p.updatedAt, p.available, c.id, c.name) FROM Product p JOIN p.category c where p.available = true",
+            countQuery = "SELECT count(p) FROM Product p where p.available = true")
+    Page<ProductSummary> getAllProducts(Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p where p.id = ?1")
+    Optional<Product> findWithCategoryById(UUID id);
 
     boolean existsByName(String name);
 
+    @Query("SELECT p.name FROM Product p where p.name in ?1")
+    Set<String> findExistingNames(Collection<String> names);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Product.QUERY_CACHE_REGION)})
     @Query("SELECT p FROM Product p where p.available = true and p.name= ?1")
     Product findByName(String productName);
 
+    @Query("SELECT p FROM Product p where p.available = true order by p.id")
+    List<Product> findFirstAvailable(Pageable pageable);
+
+    @Query("SELECT p FROM Product p where p.available = true and p.id > ?1 order by p.id")
+    List<Product> findAvailableAfter(UUID lastId, Pageable pageable);
+
+    @Query("SELECT p FROM Product p where p.available = true order by p.price desc, p.id")
+    List<Product> findFirstAvailableByPriceDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p where p.available = true and (p.price < ?1 or (p.price = ?1 and p.id > ?2)) order by p.price desc, p.id")
+    List<Product> findAvailableByPriceDescAfter(Double lastPrice, UUID lastId, Pageable pageable);
+
+    @Query("SELECT new com.example.productmanager.dto.ProductSummary(p.id, p.name, p.description, p.price, " +
+            "p.createdAt, p.updatedAt, p.available, c.id, c.name) FROM Product p JOIN p.category c " +
+            "where p.id in ?1 and p.available <> ?2")
+    List<ProductSummary> findWithOtherAvailability(Collection<UUID> ids, Boolean available);
+
+    /**
+     * Keyset page of the products matching a bulk filter whose availability differs from {@code available}.
+     * A null filter parameter matches every product; {@code namePattern} is a LIKE pattern escaped with {@code \}.
+     */
+    @Query("SELECT new com.example.productmanager.dto.ProductSummary(p.id, p.name, p.description, p.price, " +
+            "p.createdAt, p.updatedAt, p.available, c.id, c.name) FROM Product p JOIN p.category c " +
+            "where p.available <> :available and (:lastId is null or p.id > :lastId) " +
+            "and (:categoryId is null or c.id = :categoryId) " +
+            "and (:namePattern is null or p.name like :namePattern escape '\\') " +
+            "and (:minPrice is null or p.price >= :minPrice) and (:maxPrice is null or p.price <= :maxPrice) " +
+            "order by p.id")
+    List<ProductSummary> findMatchingWithOtherAvailability(@Param("available") Boolean available,
+                                                           @Param("lastId") UUID lastId,
+                                                           @Param("categoryId") UUID categoryId,
+                                                           @Param("namePattern") String namePattern,
+                                                           @Param("minPrice") Double minPrice,
+                                                           @Param("maxPrice") Double maxPrice,
+                                                           Pageable pageable);
+
+    /**
+     * Set the availability of the given products in one statement, bumping their version like an entity update.
+     * Hibernate evicts the product cache regions after a bulk update, so no entity needs to be loaded.
+     *
+     * @return the number of products whose availability changed
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.available = ?2, p.updatedAt = ?3, p.version = p.version + 1 " +
+            "where p.id in ?1 and p.available <> ?2")
+    int updateAvailability(Collection<UUID> ids, Boolean available, Date updatedAt);
+
+    long countByCategoryId(UUID categoryId);
+
+    @Query("SELECT new com.example.productmanager.dto.ProductSummary(p.id, p.name, p.description, p.price, " +
+            "p.createdAt, p.updatedAt, p.available, c.id, c.name) FROM Product p JOIN p.category c " +
+            "where c.id = ?1 order by p.id")
+    List<ProductSummary> findSummariesByCategory(UUID categoryId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Product p where p.id in ?1 and p.category.id = ?2")
+    int deleteInCategory(Collection<UUID> ids, UUID categoryId);
 
+    /**
+     * Move the given products of a category to another one in one statement, bumping their version.
+     *
+     * @return the number of products moved
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.category = :target, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id in :ids and p.category.id = :sourceId")
+    int moveToCategory(@Param("ids") Collection<UUID> ids, @Param("sourceId") UUID sourceId,
+                       @Param("target") Category target, @Param("updatedAt") Date updatedAt);
 }
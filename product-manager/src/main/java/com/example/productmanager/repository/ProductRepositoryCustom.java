@@ -0,0 +1,24 @@
+package com.example.productmanager.repository;
+
+import com.example.productmanager.model.Product;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Insert a new product with a single INSERT, relying on the database constraints instead of pre-checks.
+     *
+     * @param product the product to insert; its id is generated
+     * @return the inserted product
+     * @throws com.example.productmanager.exception.ExistProductNameException if the name is already taken
+     * @throws com.example.productmanager.exception.CategoryNotFoundException if the category does not exist
+     */
+    Product insert(Product product);
+
+    /**
+     * Write the changes of an existing product, mapping constraint violations like {@link #insert(Product)}.
+     *
+     * @param product the product to update
+     * @return the updated product
+     */
+    Product update(Product product);
+}
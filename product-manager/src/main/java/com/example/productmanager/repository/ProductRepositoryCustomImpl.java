@@ -0,0 +1,72 @@
+package com.example.productmanager.repository;
+
+import com.example.productmanager.exception.CategoryNotFoundException;
+import com.example.productmanager.exception.ExistProductNameException;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.UUID;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Product insert(Product product) {
+        product.setId(null);
+        UUID categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+        if (categoryId == null) {
+            throw new CategoryNotFoundException("Invalid categoryId: null");
+        }
+        // A reference only carries the id, so no SELECT is issued for the category.
+        product.setCategory(entityManager.getReference(Category.class, categoryId));
+        try {
+            entityManager.persist(product);
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw translate(e, product, categoryId);
+        }
+        return product;
+    }
+
+    @Override
+    @Transactional
+    public Product update(Product product) {
+        try {
+            Product merged = entityManager.merge(product);
+            entityManager.flush();
+            return merged;
+        } catch (PersistenceException e) {
+            throw translate(e, product, product.getCategory() == null ? null : product.getCategory().getId());
+        }
+    }
+
+    private static RuntimeException translate(PersistenceException e, Product product, UUID categoryId) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null) {
+            return e;
+        }
+        ConstraintViolationException violation = (ConstraintViolationException) cause;
+        // Some dialects report the constraint name in upper case or only inside the message.
+        String constraint = violation.getConstraintName() != null ? violation.getConstraintName() : String.valueOf(violation.getMessage());
+        constraint = constraint.toUpperCase(Locale.ROOT);
+        if (constraint.contains(Product.UNIQUE_NAME.toUpperCase(Locale.ROOT))) {
+            return new ExistProductNameException("Product name already exists: " + product.getName());
+        }
+        if (constraint.contains(Product.CATEGORY_FOREIGN_KEY.toUpperCase(Locale.ROOT))) {
+            return new CategoryNotFoundException("Invalid categoryId: " + categoryId);
+        }
+        return e;
+    }
+}
@@ -1,12 +1,33 @@
 package com.example.productmanager.repository;
 
+import com.example.productmanager.dto.UserTokenVersion;
 import com.example.productmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     User findFirstByEmail(String email);
+
+    @Query("SELECT u.tokenVersion FROM User u where u.email = ?1")
+    Long findTokenVersionByEmail(String email);
+
+    @Query("SELECT new com.example.productmanager.dto.UserTokenVersion(u.email, u.tokenVersion) FROM User u where u.tokenVersion > 0")
+    List<UserTokenVersion> findRevokedTokenVersions();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 where u.email = ?1")
+    int incrementTokenVersion(String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = ?2 where u.email = ?1")
+    int updatePassword(String email, String password);
 }
@@ -0,0 +1,325 @@
+package com.example.productmanager.search;
+
+import com.example.productmanager.dto.ProductSearchHit;
+import com.example.productmanager.model.Product;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ * Terms are kept in a sorted dictionary for prefix lookups, and in a trigram index over the
+ * dictionary so that misspelled query terms can be matched against nearby indexed terms.
+ * Only available products are indexed.
+ * <p>
+ * A search keeps only the best {@code offset + limit} hits in a bounded heap, so a broad query neither sorts nor
+ * builds a hit for every match. Autocomplete walks the sorted dictionary from the prefix and stops at the limit.
+ */
+public class ProductSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float FUZZY_MATCH = 0.5f;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // Best first; ties are broken by name and then id, so pages of the same ranking never overlap.
+    private static final Comparator<Candidate> RANKING = Comparator.comparingDouble((Candidate candidate) -> candidate.score())
+            .reversed()
+            .thenComparing(candidate -> candidate.document().name(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(candidate -> candidate.document().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<UUID, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    /**
+     * Add or replace a product. Unavailable products are removed from the index.
+     *
+     * @param product the product to index
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            if (!Boolean.TRUE.equals(product.getAvailable())) {
+                return;
+            }
+            Map<String, Float> weights = new HashMap<>();
+            for (String term : tokenize(product.getName())) {
+                weights.merge(term, NAME_WEIGHT, Float::sum);
+            }
+            for (String term : tokenize(product.getDescription())) {
+                weights.merge(term, DESCRIPTION_WEIGHT, Float::sum);
+            }
+            Document document = new Document(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), weights.keySet(), new HashSet<>(tokenize(product.getName())));
+            documents.put(product.getId(), document);
+            weights.forEach((term, weight) -> {
+                Map<UUID, Float> docs = postings.get(term);
+                if (docs == null) {
+                    docs = new HashMap<>();
+                    postings.put(term, docs);
+                    for (String trigram : trigrams(term)) {
+                        termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                    }
+                }
+                docs.put(product.getId(), weight);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            termsByTrigram.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank products against a free-text query. Every query term may match exactly, as a prefix
+     * (the last term only) or, failing both, through a term within a small edit distance.
+     *
+     * @param query the text to search for
+     * @return all matching products, best match first
+     */
+    public List<ProductSearchHit> search(String query) {
+        return search(query, 0, Integer.MAX_VALUE).hits();
+    }
+
+    /**
+     * Rank products against a free-text query and return one page of the ranking.
+     *
+     * @param query  the text to search for
+     * @param offset the number of best hits to skip
+     * @param limit  the maximum number of hits to return
+     * @return the requested hits, best match first, and the number of matching products
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            Map<UUID, Float> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                for (Map.Entry<String, Float> match : expand(terms.get(i), last).entrySet()) {
+                    Map<UUID, Float> docs = postings.get(match.getKey());
+                    float idf = (float) Math.log(1 + (double) documents.size() / docs.size());
+                    docs.forEach((id, weight) -> scores.merge(id, weight * idf * match.getValue(), Float::sum));
+                }
+            }
+            int wanted = (int) Math.min((long) offset + limit, scores.size());
+            if (offset >= wanted) {
+                return new SearchResult(Collections.emptyList(), scores.size());
+            }
+            // The worst of the best hits so far sits at the head, ready to be replaced by a better one.
+            PriorityQueue<Candidate> best = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+            scores.forEach((id, score) -> {
+                Candidate candidate = new Candidate(documents.get(id), score);
+                if (best.size() < wanted) {
+                    best.add(candidate);
+                } else if (RANKING.compare(candidate, best.peek()) < 0) {
+                    best.poll();
+                    best.add(candidate);
+                }
+            });
+            Candidate[] ranked = best.toArray(new Candidate[0]);
+            Arrays.sort(ranked, RANKING);
+            List<ProductSearchHit> hits = new ArrayList<>(ranked.length - offset);
+            for (int i = offset; i < ranked.length; i++) {
+                Document document = ranked[i].document();
+                hits.add(new ProductSearchHit(document.id(), document.name(), document.description(), document.price(),
+                        ranked[i].score()));
+            }
+            return new SearchResult(hits, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggest product names for a partially typed query: names containing every completed term and a word starting
+     * with the last one, in dictionary order of the completed word.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions
+     * @return distinct product names
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+        List<String> terms = tokenize(prefix);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> completed = terms.subList(0, terms.size() - 1);
+        String last = terms.get(terms.size() - 1);
+        lock.readLock().lock();
+        try {
+            Set<String> suggestions = new LinkedHashSet<>();
+            for (Map.Entry<String, Map<UUID, Float>> entry
+                    : postings.subMap(last, true, last + Character.MAX_VALUE, false).entrySet()) {
+                for (UUID id : entry.getValue().keySet()) {
+                    Document document = documents.get(id);
+                    if (document.nameTerms().contains(entry.getKey()) && document.nameTerms().containsAll(completed)) {
+                        suggestions.add(document.name());
+                        if (suggestions.size() == limit) {
+                            return new ArrayList<>(suggestions);
+                        }
+                    }
+                }
+            }
+            return new ArrayList<>(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Float> expand(String term, boolean allowPrefix) {
+        Map<String, Float> matches = new HashMap<>();
+        if (postings.containsKey(term)) {
+            matches.put(term, EXACT_MATCH);
+        }
+        if (allowPrefix) {
+            for (String candidate : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                matches.put(candidate, PREFIX_MATCH);
+            }
+        }
+        if (matches.isEmpty() && term.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = term.length() <= 5 ? 1 : 2;
+            Set<String> candidates = new HashSet<>();
+            for (String trigram : trigrams(term)) {
+                candidates.addAll(termsByTrigram.getOrDefault(trigram, Collections.emptySet()));
+            }
+            for (String candidate : candidates) {
+                if (Math.abs(candidate.length() - term.length()) <= maxDistance
+                        && editDistance(term, candidate, maxDistance) <= maxDistance) {
+                    matches.put(candidate, FUZZY_MATCH);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void removeDocument(UUID id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<UUID, Float> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> terms = termsByTrigram.get(trigram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd').replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_WORD.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Levenshtein distance, giving up early once every alignment exceeds {@code maxDistance}.
+     */
+    private static int editDistance(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private record Document(UUID id, String name, String description, Double price, Set<String> terms,
+                            Set<String> nameTerms) {
+    }
+
+    private record Candidate(Document document, float score) {
+    }
+
+    /**
+     * One page of a ranking.
+     *
+     * @param hits  the hits of the page, best match first
+     * @param total the number of matching products
+     */
+    public record SearchResult(List<ProductSearchHit> hits, int total) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.productmanager.search;
+
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Creates the search index and loads every available product into it once the application has started.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ProductRepository repository;
+
+    @Bean
+    public ProductSearchIndex productSearchIndex() {
+        return new ProductSearchIndex();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ProductSearchIndex index = productSearchIndex();
+        long start = System.currentTimeMillis();
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        List<Product> products = repository.findFirstAvailable(batch);
+        while (!products.isEmpty()) {
+            products.forEach(index::index);
+            if (products.size() < BATCH_SIZE) {
+                break;
+            }
+            products = repository.findAvailableAfter(products.get(products.size() - 1).getId(), batch);
+        }
+        log.info("Indexed {} products for search in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+}
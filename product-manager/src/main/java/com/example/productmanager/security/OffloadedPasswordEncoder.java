@@ -0,0 +1,145 @@
+package com.example.productmanager.security;
+
+import com.example.productmanager.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that hashes on a small dedicated pool instead of the request thread, so a burst of logins or
+ * registrations uses at most {@code security.password.hash-threads} cores and the rest keep serving the catalogue.
+ * The queue in front of the pool is bounded: once it is full, hashing fails fast with
+ * {@link PasswordHashingBusyException} (429) instead of piling up behind the request threads.
+ * <p>
+ * The work factor is calibrated at startup to the highest cost that still hashes within
+ * {@code security.password.target-hash-time}, unless {@code security.password.strength} pins it.
+ * Stored hashes with a different cost report {@link #upgradeEncoding} and are re-hashed on the next successful login.
+ * Publishes the {@code password.hash} timer per operation, the queue depth and active threads of the pool,
+ * and a {@code password.hash.rejected} counter.
+ */
+@Slf4j
+@Component
+public class OffloadedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public OffloadedPasswordEncoder(MeterRegistry meterRegistry,
+                                    @Value("${security.password.strength:0}") int strength,
+                                    @Value("${security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                    @Value("${security.password.min-strength:10}") int minStrength,
+                                    @Value("${security.password.max-strength:14}") int maxStrength,
+                                    @Value("${security.password.hash-threads:0}") int hashThreads,
+                                    @Value("${security.password.queue-capacity:64}") int queueCapacity) {
+        this.strength = strength > 0 ? strength : calibrate(targetHashTime, minStrength, maxStrength);
+        this.bcrypt = new BCryptPasswordEncoder(this.strength);
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        log.info("Hashing passwords with BCrypt cost {} on {} threads, queue capacity {}",
+                this.strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(encodeTimer, () -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(matchesTimer, () -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Find the highest cost whose hash still completes within the target, never going below the minimum.
+     * Each step doubles the work, so the search stops at the first cost that is too slow.
+     */
+    static int calibrate(Duration target, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+        int chosen = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode(CALIBRATION_PASSWORD);
+            if (System.nanoTime() - start > target.toNanos()) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+
+    /**
+     * Run the hash on the pool and wait for it; the caller only blocks, it does not burn a core.
+     */
+    private <T> T offload(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many password hashing requests, try again later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
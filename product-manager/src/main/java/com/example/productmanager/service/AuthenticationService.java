@@ -9,4 +9,6 @@ import java.io.IOException;
 
 public interface AuthenticationService {
     ResponseEntity<AuthenticationResponse> createAuthenticationToken(UserDTO request, HttpServletResponse response) throws IOException;
+
+    ResponseEntity<String> revokeToken(String token, boolean allSessions);
 }
@@ -0,0 +1,12 @@
+package com.example.productmanager.service;
+
+import com.example.productmanager.dto.CategoryDeletionJob;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+public interface CategoryDeletionService {
+    ResponseEntity<CategoryDeletionJob> startDeletion(UUID categoryId, CategoryDeletionJob.Mode mode, UUID targetCategoryId);
+
+    ResponseEntity<CategoryDeletionJob> getJob(UUID jobId);
+}
@@ -1,11 +1,14 @@
 package com.example.productmanager.service;
 
 import com.example.productmanager.dto.CategoryDTO;
+import com.example.productmanager.dto.CategoryStats;
+import com.example.productmanager.dto.CursorPage;
 import com.example.productmanager.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 
 import java.text.ParseException;
+import java.util.List;
 import java.util.UUID;
 
 public interface CategoryService {
@@ -16,7 +19,15 @@ public interface CategoryService {
 
     ResponseEntity<Category> updateCategory(UUID id, CategoryDTO categoryDTO) throws ParseException;
 
+    ResponseEntity<Category> updateCategory(UUID id, CategoryDTO categoryDTO, Long expectedVersion);
+
     ResponseEntity<String> deleteCategory(UUID id);
 
     ResponseEntity<Category> getCategoryById(UUID id);
+
+    ResponseEntity<CursorPage<Category>> scrollCategories(String cursor, int pageSize);
+
+    ResponseEntity<CategoryStats> getCategoryStats(UUID id);
+
+    ResponseEntity<List<CategoryStats>> getAllCategoryStats();
 }
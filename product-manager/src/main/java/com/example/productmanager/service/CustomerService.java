@@ -4,13 +4,14 @@ import com.example.productmanager.model.Customer;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface CustomerService {
     ResponseEntity<List<Customer>> findAllCustomer();
 
-    ResponseEntity<Customer> addCustomer(Customer customer);
+    CompletableFuture<ResponseEntity<Customer>> addCustomer(Customer customer);
 
-    ResponseEntity<Customer> updateCustomer(Long id, Customer customer);
+    CompletableFuture<ResponseEntity<Customer>> updateCustomer(Long id, Customer customer);
 
-    ResponseEntity<String> deleteCustomer(Long id);
+    CompletableFuture<ResponseEntity<String>> deleteCustomer(Long id);
 }
@@ -0,0 +1,9 @@
+package com.example.productmanager.service;
+
+import com.example.productmanager.dto.BulkProductRequest;
+import com.example.productmanager.dto.BulkUpdateReport;
+import org.springframework.http.ResponseEntity;
+
+public interface ProductBulkService {
+    ResponseEntity<BulkUpdateReport> updateAvailability(BulkProductRequest request, boolean available);
+}
@@ -0,0 +1,11 @@
+package com.example.productmanager.service;
+
+import com.example.productmanager.dto.ChangeFeedPage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ProductChangeService {
+    ResponseEntity<ChangeFeedPage> getChanges(String since, int limit);
+
+    SseEmitter streamChanges(String since);
+}
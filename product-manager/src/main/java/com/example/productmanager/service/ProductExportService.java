@@ -0,0 +1,10 @@
+package com.example.productmanager.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+public interface ProductExportService {
+    ResponseEntity<StreamingResponseBody> exportProducts(UUID categoryId, Boolean available, boolean gzip);
+}
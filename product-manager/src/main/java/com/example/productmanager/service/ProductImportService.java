@@ -0,0 +1,11 @@
+package com.example.productmanager.service;
+
+import com.example.productmanager.dto.ImportReport;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+    ResponseEntity<ImportReport> importProducts(InputStream inputStream, String contentType) throws IOException;
+}
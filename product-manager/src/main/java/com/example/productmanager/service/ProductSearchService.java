@@ -0,0 +1,12 @@
+package com.example.productmanager.service;
+
+import com.example.productmanager.dto.SearchPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface ProductSearchService {
+    ResponseEntity<SearchPage> search(String query, int page, int pageSize);
+
+    ResponseEntity<List<String>> autocomplete(String prefix, int limit);
+}
@@ -1,6 +1,8 @@
 package com.example.productmanager.service;
 
+import com.example.productmanager.dto.CursorPage;
 import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.dto.ProductSummary;
 import com.example.productmanager.exception.ExistProductNameException;
 import com.example.productmanager.model.Product;
 import org.springframework.data.domain.Page;
@@ -9,15 +11,23 @@ import org.springframework.http.ResponseEntity;
 import java.util.UUID;
 
 public interface ProductService {
-    ResponseEntity<Page<Product>> paginationProducts(Integer page, Integer pageSize);
+    ResponseEntity<Page<ProductSummary>> paginationProducts(Integer page, Integer pageSize);
 
     ResponseEntity<Product> addProduct(ProductDTO productDTO) throws ExistProductNameException;
 
     ResponseEntity<Product> updateProduct(UUID id, ProductDTO productDTO);
 
+    ResponseEntity<Product> updateProduct(UUID id, ProductDTO productDTO, Long expectedVersion);
+
     ResponseEntity<String> deleteProduct(UUID id);
 
-    ResponseEntity<Page<Product>> sortProductByPriceDesc(int pageNumber, int pageSize);
+    ResponseEntity<Page<ProductSummary>> sortProductByPriceDesc(int pageNumber, int pageSize);
 
     ResponseEntity<Product> findByProductName(String productName);
+
+    ResponseEntity<Product> getProductById(UUID id);
+
+    ResponseEntity<CursorPage<Product>> scrollProducts(String cursor, int pageSize);
+
+    ResponseEntity<CursorPage<Product>> scrollProductsByPriceDesc(String cursor, int pageSize);
 }
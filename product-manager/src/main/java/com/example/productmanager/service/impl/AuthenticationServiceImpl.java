@@ -1,9 +1,13 @@
 package com.example.productmanager.service.impl;
 
+import com.example.productmanager.cache.TokenCache;
+import com.example.productmanager.cache.TokenDenylist;
 import com.example.productmanager.dto.AuthenticationResponse;
 import com.example.productmanager.dto.UserDTO;
+import com.example.productmanager.repository.UserRepository;
 import com.example.productmanager.service.AuthenticationService;
 import com.example.productmanager.untils.JwtUntil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +29,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final JwtUntil jwtUntil;
+    private final UserRepository userRepository;
+    private final TokenDenylist tokenDenylist;
+    private final TokenCache tokenCache;
 
     public ResponseEntity<AuthenticationResponse> createAuthenticationToken(UserDTO request, HttpServletResponse response) throws IOException {
         try {
@@ -36,8 +43,34 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             return null;
         }
         final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        final String jwt = jwtUntil.generateToken(userDetails.getUsername());
+        Long tokenVersion = userRepository.findTokenVersionByEmail(userDetails.getUsername());
+        final String jwt = jwtUntil.generateToken(userDetails.getUsername(), userDetails.getAuthorities(),
+                tokenVersion == null ? 0 : tokenVersion);
         AuthenticationResponse authenticationResponse = new AuthenticationResponse(jwt);
         return new ResponseEntity<>(authenticationResponse, HttpStatus.OK);
     }
+
+    /**
+     * Revoke the given token, or every token issued to its user so far.
+     * Revoking all sessions increments the user's token version, so tokens issued afterwards carry the new version.
+     *
+     * @param token       the bearer token of the current request
+     * @param allSessions whether to revoke every token of the user instead of this one
+     * @return a ResponseEntity with no content
+     */
+    @Override
+    public ResponseEntity<String> revokeToken(String token, boolean allSessions) {
+        Claims claims = jwtUntil.extractAllClaim(token);
+        if (allSessions) {
+            userRepository.incrementTokenVersion(claims.getSubject());
+            Long tokenVersion = userRepository.findTokenVersionByEmail(claims.getSubject());
+            tokenDenylist.revokeVersionsBelow(claims.getSubject(), tokenVersion == null ? 0 : tokenVersion,
+                    System.currentTimeMillis() + JwtUntil.EXPIRATION_MILLIS);
+            tokenCache.clear();
+        } else {
+            tokenDenylist.revokeToken(claims.getId(), claims.getExpiration().getTime());
+            tokenCache.invalidate(token);
+        }
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
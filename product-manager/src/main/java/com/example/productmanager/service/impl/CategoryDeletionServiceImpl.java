@@ -0,0 +1,260 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.dto.CategoryDeletionJob;
+import com.example.productmanager.dto.ProductSummary;
+import com.example.productmanager.exception.CategoryNotFoundException;
+import com.example.productmanager.exception.DeletionJobNotFoundException;
+import com.example.productmanager.exception.InvalidDeletionRequestException;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.search.ProductSearchIndex;
+import com.example.productmanager.service.CategoryDeletionService;
+import com.example.productmanager.stats.CategoryStatsStore;
+import com.example.productmanager.untils.TransactionUntil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class CategoryDeletionServiceImpl implements CategoryDeletionService {
+    // SQL Server accepts at most 2100 parameters per statement.
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CategoryStatsStore statsStore;
+    private final ProductChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final Duration retention;
+    private final Map<UUID, CategoryDeletionJob> jobs = new ConcurrentHashMap<>();
+    private final Map<UUID, CategoryDeletionJob> runningByCategory = new ConcurrentHashMap<>();
+
+    public CategoryDeletionServiceImpl(CategoryRepository categoryRepository,
+                                       ProductRepository productRepository,
+                                       ProductCache productCache,
+                                       ProductSearchIndex searchIndex,
+                                       CategoryStatsStore statsStore,
+                                       ProductChangeLog changeLog,
+                                       PlatformTransactionManager transactionManager,
+                                       @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                       @Value("${category.deletion.chunk-size:1000}") int chunkSize,
+                                       @Value("${category.deletion.retention:PT1H}") Duration retention) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.statsStore = statsStore;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = Math.min(Math.max(chunkSize, 1), MAX_IN_PARAMETERS);
+        this.retention = retention;
+    }
+
+    /**
+     * Start deleting or deactivating a category in the background.
+     * The products are processed in chunks of {@code category.deletion.chunk-size} with set-based statements,
+     * each chunk committed in its own transaction, so no product entity is loaded and no transaction spans the whole
+     * category. A second request for a category that is still being processed returns the running job.
+     *
+     * @param categoryId       the id of the category
+     * @param mode             what happens to the products of the category
+     * @param targetCategoryId the category receiving the products in {@link CategoryDeletionJob.Mode#REASSIGN} mode
+     * @return a ResponseEntity containing the accepted job
+     * @throws CategoryNotFoundException        if the category or the target category is not found
+     * @throws InvalidDeletionRequestException if the target category is missing or is the category itself
+     */
+    @Override
+    public ResponseEntity<CategoryDeletionJob> startDeletion(UUID categoryId, CategoryDeletionJob.Mode mode, UUID targetCategoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Category not found with id: " + categoryId);
+        }
+        if (mode == CategoryDeletionJob.Mode.REASSIGN) {
+            if (targetCategoryId == null || targetCategoryId.equals(categoryId)) {
+                throw new InvalidDeletionRequestException("Reassigning products needs a target category other than " + categoryId);
+            }
+            if (!categoryRepository.existsById(targetCategoryId)) {
+                throw new CategoryNotFoundException("Category not found with id: " + targetCategoryId);
+            }
+        }
+        removeExpiredJobs();
+        CategoryDeletionJob running = runningByCategory.get(categoryId);
+        if (running != null) {
+            return new ResponseEntity<>(running, HttpStatus.ACCEPTED);
+        }
+        // Counted before claiming the category, so no lock is held during the query.
+        CategoryDeletionJob candidate = new CategoryDeletionJob(categoryId, mode,
+                mode == CategoryDeletionJob.Mode.REASSIGN ? targetCategoryId : null,
+                productRepository.countByCategoryId(categoryId));
+        CategoryDeletionJob job = runningByCategory.computeIfAbsent(categoryId, id -> candidate);
+        if (job == candidate) {
+            jobs.put(job.getId(), job);
+            taskExecutor.execute(() -> run(job));
+        }
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieve the progress of a deletion job.
+     *
+     * @param jobId the id of the job
+     * @return a ResponseEntity containing the job
+     * @throws DeletionJobNotFoundException if the job is not found or finished longer than the retention ago
+     */
+    @Override
+    public ResponseEntity<CategoryDeletionJob> getJob(UUID jobId) {
+        CategoryDeletionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new DeletionJobNotFoundException("Deletion job not found with id: " + jobId);
+        }
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    private void run(CategoryDeletionJob job) {
+        long start = System.currentTimeMillis();
+        try {
+            boolean done;
+            do {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(job)));
+            } while (!done);
+            job.setStatus(CategoryDeletionJob.Status.COMPLETED);
+            log.info("{} of category {} finished with {} products in {} ms",
+                    job.getMode(), job.getCategoryId(), job.getProcessed(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            job.setError(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            job.setStatus(CategoryDeletionJob.Status.FAILED);
+            log.warn("{} of category {} failed after {} products", job.getMode(), job.getCategoryId(), job.getProcessed(), e);
+        } finally {
+            job.setFinishedAt(new Date());
+            runningByCategory.remove(job.getCategoryId(), job);
+        }
+    }
+
+    /**
+     * Process the next chunk of products, or finish with the category once none are left.
+     *
+     * @return true once the category has been deleted or deactivated
+     */
+    private boolean processChunk(CategoryDeletionJob job) {
+        UUID categoryId = job.getCategoryId();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        List<ProductSummary> rows = job.getMode() == CategoryDeletionJob.Mode.DEACTIVATE
+                ? productRepository.findMatchingWithOtherAvailability(false, null, categoryId, null, null, null, chunk)
+                : productRepository.findSummariesByCategory(categoryId, chunk);
+        if (rows.isEmpty()) {
+            finish(job);
+            return true;
+        }
+        List<UUID> ids = rows.stream().map(ProductSummary::id).toList();
+        Date now = new Date();
+        switch (job.getMode()) {
+            case DELETE -> {
+                productRepository.deleteInCategory(ids, categoryId);
+                changeLog.recordAll(rows, ProductChange.Operation.DELETED);
+                TransactionUntil.afterCommit(() -> rows.forEach(row -> {
+                    productCache.evict(row.id(), row.name());
+                    searchIndex.remove(row.id());
+                    statsStore.applyChange(toProduct(row, row.idCategory(), row.available()), null);
+                }));
+            }
+            case DEACTIVATE -> {
+                productRepository.updateAvailability(ids, false, now);
+                changeLog.recordAll(rows.stream().map(row -> moved(row, categoryId, false, now)).toList(),
+                        ProductChange.Operation.DELETED);
+                TransactionUntil.afterCommit(() -> rows.forEach(row -> {
+                    productCache.evict(row.id(), row.name());
+                    searchIndex.remove(row.id());
+                    statsStore.applyChange(toProduct(row, categoryId, row.available()), toProduct(row, categoryId, false));
+                }));
+            }
+            case REASSIGN -> {
+                UUID targetId = job.getTargetCategoryId();
+                productRepository.moveToCategory(ids, categoryId, categoryRepository.getReferenceById(targetId), now);
+                List<ProductSummary> after = rows.stream().map(row -> moved(row, targetId, row.available(), now)).toList();
+                changeLog.recordAll(after, ProductChange.Operation.UPDATED);
+                TransactionUntil.afterCommit(() -> {
+                    for (int i = 0; i < rows.size(); i++) {
+                        ProductSummary row = rows.get(i);
+                        productCache.evict(row.id(), row.name());
+                        Product moved = toProduct(after.get(i), targetId, row.available());
+                        searchIndex.index(moved);
+                        statsStore.applyChange(toProduct(row, categoryId, row.available()), moved);
+                    }
+                });
+            }
+        }
+        TransactionUntil.afterCommit(() -> job.setProcessed(job.getProcessed() + rows.size()));
+        return false;
+    }
+
+    /**
+     * Delete or deactivate the category once its products have been processed. Deleting it still goes through the
+     * entity, which now only cascades to products added since the last chunk.
+     */
+    private void finish(CategoryDeletionJob job) {
+        Category category = categoryRepository.findById(job.getCategoryId()).orElse(null);
+        if (category == null) {
+            return;
+        }
+        if (job.getMode() == CategoryDeletionJob.Mode.DEACTIVATE) {
+            category.setActive(false);
+            category.setUpdatedAt(new Date());
+            Category updated = categoryRepository.save(category);
+            changeLog.record(updated, ProductChange.Operation.UPDATED);
+            TransactionUntil.afterCommit(() -> statsStore.putCategory(updated));
+        } else {
+            changeLog.record(category, ProductChange.Operation.DELETED);
+            categoryRepository.delete(category);
+            TransactionUntil.afterCommit(() -> statsStore.removeCategory(job.getCategoryId()));
+        }
+    }
+
+    private void removeExpiredJobs() {
+        long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().getTime() < expiredBefore);
+    }
+
+    private static ProductSummary moved(ProductSummary row, UUID categoryId, Boolean available, Date updatedAt) {
+        return new ProductSummary(row.id(), row.name(), row.description(), row.price(), row.createdAt(), updatedAt,
+                available, categoryId, null);
+    }
+
+    private static Product toProduct(ProductSummary row, UUID categoryId, Boolean available) {
+        return Product.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .price(row.price())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .available(available)
+                .category(Category.builder().id(categoryId).build())
+                .build();
+    }
+}
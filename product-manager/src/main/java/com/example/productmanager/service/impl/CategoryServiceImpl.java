@@ -3,30 +3,63 @@
  */
 package com.example.productmanager.service.impl;
 
+import com.example.productmanager.cache.CacheRegistry;
+import com.example.productmanager.cache.SingleFlight;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.datasource.ReadYourWritesGuard;
 import com.example.productmanager.dto.CategoryDTO;
+import com.example.productmanager.dto.CategoryStats;
+import com.example.productmanager.dto.CursorPage;
 import com.example.productmanager.exception.CategoryExistException;
 import com.example.productmanager.exception.CategoryNotFoundException;
+import com.example.productmanager.exception.PreconditionFailedException;
 import com.example.productmanager.model.Category;
+import com.example.productmanager.model.ProductChange;
 import com.example.productmanager.repository.CategoryRepository;
 import com.example.productmanager.service.CategoryService;
-import lombok.RequiredArgsConstructor;
+import com.example.productmanager.stats.CategoryStatsReconciler;
+import com.example.productmanager.stats.CategoryStatsStore;
+import com.example.productmanager.untils.CursorUntil;
+import com.example.productmanager.untils.TransactionUntil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
-    private Category category = new Category();
-    private Category clone = (Category) category.clone();
+    private final CategoryStatsStore statsStore;
+    private final CategoryStatsReconciler statsReconciler;
+    private final ProductChangeLog changeLog;
+    private final SingleFlight<UUID, Optional<Category>> lookupsById;
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               CategoryStatsStore statsStore,
+                               CategoryStatsReconciler statsReconciler,
+                               ProductChangeLog changeLog,
+                               CacheRegistry registry,
+                               ObjectProvider<ReadYourWritesGuard> readYourWrites,
+                               @Value("${category.single-flight.timeout:2s}") Duration singleFlightTimeout) {
+        this.categoryRepository = categoryRepository;
+        this.statsStore = statsStore;
+        this.statsReconciler = statsReconciler;
+        this.changeLog = changeLog;
+        ReadYourWritesGuard guard = readYourWrites.getIfAvailable();
+        this.lookupsById = registry.register("category.id", new SingleFlight<>(singleFlightTimeout,
+                () -> guard != null && guard.isCurrentUserRecentWriter()));
+    }
 
     /**
      * Retrieve a paginated list of categories.
@@ -35,6 +68,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @param pageSize   the number of categories per page
      * @return a ResponseEntity containing a Page of Category objects
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<Page<Category>> paginationCategories(Integer pageNumber, Integer pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         Page<Category> categoryPage = categoryRepository.getAllCategories(pageable);
@@ -45,6 +79,28 @@ public class CategoryServiceImpl implements CategoryService {
         }
     }
 
+    /**
+     * Retrieve a page of active categories after the given cursor, ordered by id.
+     * Uses a seek query instead of OFFSET paging and does not count the total.
+     *
+     * @param cursor   the continuation token of the previous page, or null for the first page
+     * @param pageSize the number of categories per page
+     * @return a ResponseEntity containing a CursorPage of Category objects
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<Category>> scrollCategories(String cursor, int pageSize) {
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Category> rows = cursor == null
+                ? categoryRepository.findFirstActive(limit)
+                : categoryRepository.findActiveAfter(CursorUntil.decode(cursor).id(), limit);
+        CursorPage<Category> page = CursorPage.of(rows, pageSize, c -> CursorUntil.encode(null, c.getId()));
+        if (page.getContent().isEmpty()) {
+            return new ResponseEntity<>(page, HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
     /**
      * Update a category with the given id.
      *
@@ -54,22 +110,42 @@ public class CategoryServiceImpl implements CategoryService {
      * @throws CategoryNotFoundException if the category with the given id is not found
      */
     @Override
+    @Transactional
     public ResponseEntity<Category> updateCategory(UUID id, CategoryDTO categoryDTO) {
-        Optional<Category> categoryOptional = categoryRepository.findById(id);
-        if (categoryOptional.isPresent()) {
-            clone = categoryOptional.get();
-            if (categoryDTO.getName() != null) {
-                clone.setName(categoryDTO.getName());
-            }
-            if (categoryDTO.getDescription() != null) {
-                clone.setDescription(categoryDTO.getDescription());
-            }
-            clone.setUpdatedAt(new Date());
-            categoryRepository.save(clone);
-        } else {
-            throw new CategoryNotFoundException("Category not found with id: " + id);
+        return updateCategory(id, categoryDTO, null);
+    }
+
+    /**
+     * Update a category with the given id if it is still at the version the client read.
+     * Only the changed columns are written, and the UPDATE is conditional on the version.
+     *
+     * @param id              the id of the category to update
+     * @param categoryDTO     the CategoryDTO object containing the updated information
+     * @param expectedVersion the version from the client's If-Match header, or null to skip the check
+     * @return a ResponseEntity containing the updated Category object
+     * @throws CategoryNotFoundException   if the category with the given id is not found
+     * @throws PreconditionFailedException if the category is no longer at the expected version
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<Category> updateCategory(UUID id, CategoryDTO categoryDTO, Long expectedVersion) {
+        Category category = categoryRepository.findById(id).orElseThrow(
+                () -> new CategoryNotFoundException("Category not found with id: " + id)
+        );
+        if (expectedVersion != null && !expectedVersion.equals(category.getVersion())) {
+            throw new PreconditionFailedException("Category " + id + " has been modified, current version is " + category.getVersion());
         }
-        return new ResponseEntity<>(clone, HttpStatus.OK);
+        if (categoryDTO.getName() != null) {
+            category.setName(categoryDTO.getName());
+        }
+        if (categoryDTO.getDescription() != null) {
+            category.setDescription(categoryDTO.getDescription());
+        }
+        category.setUpdatedAt(new Date());
+        Category updated = categoryRepository.save(category);
+        changeLog.record(updated, ProductChange.Operation.UPDATED);
+        TransactionUntil.afterCommit(() -> statsStore.putCategory(updated));
+        return new ResponseEntity<>(updated, HttpStatus.OK);
     }
 
     /**
@@ -79,24 +155,69 @@ public class CategoryServiceImpl implements CategoryService {
      * @return a ResponseEntity with no content
      */
     @Override
+    @Transactional
     public ResponseEntity<String> deleteCategory(UUID id) {
-        getCategoryById(id);
+        Category category = categoryRepository.findById(id).orElseThrow(
+                () -> new CategoryNotFoundException("Category not found with id: " + id)
+        );
+        // The products are removed together with the category by cascade, so their deletions are recorded as well.
+        if (category.getProductList() != null) {
+            category.getProductList().forEach(product -> changeLog.record(product, ProductChange.Operation.DELETED));
+        }
+        changeLog.record(category, ProductChange.Operation.DELETED);
         categoryRepository.deleteById(id);
+        TransactionUntil.afterCommit(() -> statsStore.removeCategory(id));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     /**
      * Retrieve a category by its id.
+     * Concurrent lookups of the same id share one repository call. The method opens no transaction of its own, so
+     * the callers waiting for that call do not hold a connection; the call itself runs in the read-only repository
+     * transaction. Callers inside a transaction, and a user who has just written, run their own call.
      *
      * @param id the id of the category to retrieve
      * @return a ResponseEntity containing the retrieved Category object
      */
     @Override
     public ResponseEntity<Category> getCategoryById(UUID id) {
-        clone = categoryRepository.findById(id).orElseThrow(
+        Category category = lookupsById.execute(id, () -> categoryRepository.findById(id)).orElseThrow(
                 () -> new CategoryNotFoundException("Category not found with id: " + id)
         );
-        return new ResponseEntity<>(clone, HttpStatus.OK);
+        return new ResponseEntity<>(category, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve the product count and price statistics of a category from memory.
+     * A category whose min or max price went stale is recomputed first.
+     *
+     * @param id the id of the category
+     * @return a ResponseEntity containing the CategoryStats of the category
+     * @throws CategoryNotFoundException if no statistics exist for the given id
+     */
+    @Override
+    public ResponseEntity<CategoryStats> getCategoryStats(UUID id) {
+        if (statsStore.isStale(id)) {
+            statsReconciler.refresh(id);
+        }
+        CategoryStats stats = statsStore.get(id);
+        if (stats == null) {
+            throw new CategoryNotFoundException("Category not found with id: " + id);
+        }
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve the product count and price statistics of every category from memory.
+     *
+     * @return a ResponseEntity containing a list of CategoryStats objects
+     */
+    @Override
+    public ResponseEntity<List<CategoryStats>> getAllCategoryStats() {
+        List<CategoryStats> stats = statsStore.getAll().stream()
+                .map(s -> statsStore.isStale(s.getCategoryId()) ? getCategoryStats(s.getCategoryId()).getBody() : s)
+                .toList();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
     }
 
     /**
@@ -107,13 +228,17 @@ public class CategoryServiceImpl implements CategoryService {
      * @throws CategoryExistException if a category with the same name already exists
      */
     @Override
+    @Transactional
     public ResponseEntity<Category> addCategory(CategoryDTO categoryDTO) {
-        clone = convertToObject(categoryDTO);
-        if (Boolean.TRUE.equals(categoryRepository.existsByName(clone.getName()))) {
-            throw new CategoryExistException("Category name already exists: " + clone.getName());
+        Category category = convertToObject(categoryDTO);
+        if (Boolean.TRUE.equals(categoryRepository.existsByName(category.getName()))) {
+            throw new CategoryExistException("Category name already exists: " + category.getName());
         }
-        categoryRepository.save(clone);
-        return new ResponseEntity<>(clone, HttpStatus.CREATED);
+        // A new category is persisted in place, so the argument already carries the generated id.
+        categoryRepository.save(category);
+        changeLog.record(category, ProductChange.Operation.CREATED);
+        TransactionUntil.afterCommit(() -> statsStore.putCategory(category));
+        return new ResponseEntity<>(category, HttpStatus.CREATED);
     }
 
     /**
@@ -1,41 +1,50 @@
 package com.example.productmanager.service.impl;
 
+import com.example.productmanager.client.CustomerApiClient;
+import com.example.productmanager.client.CustomerSyncJob;
 import com.example.productmanager.model.Customer;
 import com.example.productmanager.repository.CustomerRepository;
 import com.example.productmanager.service.CustomerService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Customer operations go to the remote API first; the local copy is written on the application task executor,
+ * never on the HTTP client's pool that completes the remote call.
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
-    private static final String URL_GET_CUSTOMER = "https://650d8c41a8b42265ec2c5ef1.mockapi.io/api/customer/";
-    private static final String URL_POST_CUSTOMER = "https://650d8c41a8b42265ec2c5ef1.mockapi.io/api/customer";
-    private static final String URL_PUT_CUSTOMER = "https://650d8c41a8b42265ec2c5ef1.mockapi.io/api/customer/{id}";
-    private static final String URL_DELETE_CUSTOMER = "https://650d8c41a8b42265ec2c5ef1.mockapi.io/api/customer/{id}";
-    private final RestTemplate restTemplate;
+    private final CustomerApiClient customerApiClient;
+    private final CustomerSyncJob customerSyncJob;
     private final CustomerRepository customerRepository;
+    private final TaskExecutor taskExecutor;
+
+    public CustomerServiceImpl(CustomerApiClient customerApiClient,
+                               CustomerSyncJob customerSyncJob,
+                               CustomerRepository customerRepository,
+                               @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.customerApiClient = customerApiClient;
+        this.customerSyncJob = customerSyncJob;
+        this.customerRepository = customerRepository;
+        this.taskExecutor = taskExecutor;
+    }
 
     /**
-     * Retrieve all customers.
+     * Retrieve all customers from the local copy and refresh it from the remote API in the background.
      *
      * @return a ResponseEntity containing a List of Customer objects
      */
     public ResponseEntity<List<Customer>> findAllCustomer() {
-        List<Customer> customers = restTemplate.exchange(
-                URL_GET_CUSTOMER,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<Customer>>() {
-                }).getBody();
-        if (customers == null || customers.isEmpty()) {
+        customerSyncJob.requestSync();
+        List<Customer> customers = customerRepository.findAll();
+        if (customers.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.ok(customers);
@@ -45,27 +54,27 @@ public class CustomerServiceImpl implements CustomerService {
      * Add a new customer.
      *
      * @param customer the Customer object to add
-     * @return a ResponseEntity containing the created Customer object
+     * @return a future of a ResponseEntity containing the created Customer object
      */
-    public ResponseEntity addCustomer(Customer customer) {
-        Customer createCustomer = restTemplate.postForObject(URL_POST_CUSTOMER, customer, Customer.class);
-        customerRepository.save(createCustomer);
-        return new ResponseEntity<>(createCustomer, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<Customer>> addCustomer(Customer customer) {
+        return customerApiClient.create(customer)
+                .thenApplyAsync(created -> new ResponseEntity<>(customerRepository.save(created), HttpStatus.CREATED),
+                        taskExecutor);
     }
 
 
     /**
-     * Update a customer with the given id.
+     * Update a customer with the given id. The remote API returns the updated customer from the PUT,
+     * so no follow-up GET is needed.
      *
      * @param id       the id of the customer to update
      * @param customer the updated Customer object
-     * @return a ResponseEntity containing the updated Customer object
+     * @return a future of a ResponseEntity containing the updated Customer object
      */
-    public ResponseEntity updateCustomer(Long id, Customer customer) {
-        restTemplate.put(URL_PUT_CUSTOMER.replace("{id}", String.valueOf(id)), customer);
-        Customer updateCustomer = restTemplate.getForObject(URL_GET_CUSTOMER + id, Customer.class);
-        customerRepository.save(updateCustomer);
-        return new ResponseEntity<>(updateCustomer, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<Customer>> updateCustomer(Long id, Customer customer) {
+        return customerApiClient.update(id, customer)
+                .thenApplyAsync(updated -> new ResponseEntity<>(customerRepository.save(updated), HttpStatus.OK),
+                        taskExecutor);
     }
 
 
@@ -73,12 +82,14 @@ public class CustomerServiceImpl implements CustomerService {
      * Delete a customer with the given id.
      *
      * @param id the id of the customer to delete
-     * @return a ResponseEntity with a message indicating the customer has been deleted
+     * @return a future of a ResponseEntity with a message indicating the customer has been deleted
      */
-    public ResponseEntity deleteCustomer(Long id) {
-        restTemplate.delete(URL_DELETE_CUSTOMER.replace(" {id}", String.valueOf(id)));
-        customerRepository.deleteById(id);
-        return new ResponseEntity<>("Deleted customer", HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<String>> deleteCustomer(Long id) {
+        return customerApiClient.delete(id)
+                .thenApplyAsync(ignored -> {
+                    customerRepository.deleteById(id);
+                    return new ResponseEntity<>("Deleted customer", HttpStatus.OK);
+                }, taskExecutor);
     }
 
 
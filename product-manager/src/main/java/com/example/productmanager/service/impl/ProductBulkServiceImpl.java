@@ -0,0 +1,163 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.dto.BulkProductRequest;
+import com.example.productmanager.dto.BulkUpdateReport;
+import com.example.productmanager.dto.ProductSummary;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.search.ProductSearchIndex;
+import com.example.productmanager.service.ProductBulkService;
+import com.example.productmanager.stats.CategoryStatsStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Service
+public class ProductBulkServiceImpl implements ProductBulkService {
+    // SQL Server accepts at most 2100 parameters per statement.
+    private static final int MAX_IN_PARAMETERS = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ProductRepository repository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CategoryStatsStore statsStore;
+    private final ProductChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductBulkServiceImpl(ProductRepository repository,
+                                  ProductCache productCache,
+                                  ProductSearchIndex searchIndex,
+                                  CategoryStatsStore statsStore,
+                                  ProductChangeLog changeLog,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${product.bulk.chunk-size:1000}") int chunkSize) {
+        this.repository = repository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.statsStore = statsStore;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.min(Math.max(chunkSize, 1), MAX_IN_PARAMETERS);
+    }
+
+    /**
+     * Make the selected products available or unavailable with set-based UPDATEs instead of loading each product.
+     * Products are processed in chunks of {@code product.bulk.chunk-size}, each committed in its own transaction
+     * with two statements and one batch of change feed rows; products already in the requested state are skipped.
+     * A chunk that races with another write is retried; if it keeps failing, the earlier chunks stay committed.
+     *
+     * @param request   the ids or the filter selecting the products
+     * @param available the availability to set; false is a soft delete
+     * @return a ResponseEntity containing the number of updated and skipped products
+     * @throws OptimisticLockingFailureException if a chunk kept racing with concurrent writes
+     */
+    @Override
+    public ResponseEntity<BulkUpdateReport> updateAvailability(BulkProductRequest request, boolean available) {
+        BulkUpdateReport report = new BulkUpdateReport();
+        if (request.hasIds()) {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int i = 0; i < ids.size(); i += chunkSize) {
+                List<UUID> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+                report.setUpdated(report.getUpdated()
+                        + updateChunk(() -> repository.findWithOtherAvailability(chunk, available), available).size());
+            }
+            report.setSkipped(ids.size() - report.getUpdated());
+        } else {
+            String namePattern = request.getNamePrefix() == null || request.getNamePrefix().isEmpty()
+                    ? null
+                    : escapeLike(request.getNamePrefix()) + "%";
+            UUID lastId = null;
+            List<ProductSummary> updated;
+            do {
+                UUID after = lastId;
+                updated = updateChunk(() -> repository.findMatchingWithOtherAvailability(available, after,
+                        request.getIdCategory(), namePattern, request.getMinPrice(), request.getMaxPrice(),
+                        PageRequest.of(0, chunkSize)), available);
+                report.setUpdated(report.getUpdated() + updated.size());
+                if (!updated.isEmpty()) {
+                    lastId = updated.get(updated.size() - 1).id();
+                }
+            } while (updated.size() == chunkSize);
+        }
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * Update one chunk in its own transaction and apply the side effects once it has committed.
+     *
+     * @param select reads the products of the chunk whose availability differs, as they are before the update
+     * @return the products of the chunk as they are after the update
+     */
+    private List<ProductSummary> updateChunk(Supplier<List<ProductSummary>> select, boolean available) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<ProductSummary> updated = transactionTemplate.execute(status -> {
+                    List<ProductSummary> before = select.get();
+                    if (before.isEmpty()) {
+                        return before;
+                    }
+                    Date now = new Date();
+                    int count = repository.updateAvailability(before.stream().map(ProductSummary::id).toList(), available, now);
+                    if (count != before.size()) {
+                        throw new OptimisticLockingFailureException(
+                                "Products changed while their availability was updated, " + count + " of " + before.size() + " updated");
+                    }
+                    List<ProductSummary> after = before.stream().map(row -> withAvailability(row, available, now)).toList();
+                    changeLog.recordAll(after, available ? ProductChange.Operation.UPDATED : ProductChange.Operation.DELETED);
+                    return after;
+                });
+                for (ProductSummary row : updated) {
+                    productCache.evict(row.id(), row.name());
+                    Product product = toProduct(row);
+                    searchIndex.index(product);
+                    statsStore.applyChange(toProduct(withAvailability(row, !available, row.updatedAt())), product);
+                }
+                return updated;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static ProductSummary withAvailability(ProductSummary row, boolean available, Date updatedAt) {
+        return new ProductSummary(row.id(), row.name(), row.description(), row.price(), row.createdAt(), updatedAt,
+                available, row.idCategory(), row.categoryName());
+    }
+
+    private static Product toProduct(ProductSummary row) {
+        return Product.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .price(row.price())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .available(row.available())
+                .category(Category.builder().id(row.idCategory()).build())
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
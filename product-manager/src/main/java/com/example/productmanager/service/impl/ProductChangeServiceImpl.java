@@ -0,0 +1,52 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.changes.ProductChangeBroadcaster;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.dto.ChangeFeedPage;
+import com.example.productmanager.dto.ProductChangeEntry;
+import com.example.productmanager.exception.InvalidCursorException;
+import com.example.productmanager.service.ProductChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ProductChangeServiceImpl implements ProductChangeService {
+    private final ProductChangeLog changeLog;
+    private final ProductChangeBroadcaster broadcaster;
+
+    /**
+     * Retrieve the product and category changes after the given token with a single query.
+     *
+     * @param since the token returned by the previous call, or null to start from the beginning
+     * @param limit the maximum number of changes to return
+     * @return a ResponseEntity containing the changes and the token to resume from
+     * @throws InvalidCursorException if the token is not valid
+     */
+    @Override
+    public ResponseEntity<ChangeFeedPage> getChanges(String since, int limit) {
+        long lastId = ProductChangeLog.parseToken(since);
+        List<ProductChangeEntry> rows = changeLog.readAfter(lastId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ProductChangeEntry> changes = hasMore ? rows.subList(0, limit) : rows;
+        String next = changes.isEmpty() ? String.valueOf(lastId) : changes.get(changes.size() - 1).token();
+        return new ResponseEntity<>(new ChangeFeedPage(changes, next, hasMore), HttpStatus.OK);
+    }
+
+    /**
+     * Stream the changes after the given token as Server-Sent Events; each event id is the token of its change.
+     *
+     * @param since the token to resume from, or null to start from the beginning
+     * @return the emitter of the stream
+     * @throws InvalidCursorException if the token is not valid
+     */
+    @Override
+    public SseEmitter streamChanges(String since) {
+        return broadcaster.subscribe(ProductChangeLog.parseToken(since));
+    }
+}
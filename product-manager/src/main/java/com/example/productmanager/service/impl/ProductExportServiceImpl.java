@@ -0,0 +1,130 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.service.ProductExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+    private final int flushEvery;
+
+    public ProductExportServiceImpl(EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${product.export.fetch-size:1000}") int fetchSize,
+                                    @Value("${product.export.flush-every:500}") int flushEvery) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Stream every product matching the filters as newline-delimited JSON.
+     * Rows are read through a forward-only cursor and projected straight into ProductDTO,
+     * so neither the persistence context nor the response buffer grows with the catalogue.
+     *
+     * @param categoryId only export products of this category, or all categories if null
+     * @param available  only export products with this availability, or all products if null
+     * @param gzip       whether to gzip the response body
+     * @return a ResponseEntity whose body writes the export to the response
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportProducts(UUID categoryId, Boolean available, boolean gzip) {
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192)) {
+                    writeProducts(gzipStream, categoryId, available);
+                }
+            } else {
+                writeProducts(outputStream, categoryId, available);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson" + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void writeProducts(OutputStream outputStream, UUID categoryId, Boolean available) throws IOException {
+        JsonGenerator generator = writer.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductDTO> products = createQuery(categoryId, available).getResultStream()) {
+                    long count = 0;
+                    for (ProductDTO product : (Iterable<ProductDTO>) products::iterator) {
+                        writer.writeValue(generator, product);
+                        if (++count % flushEvery == 0) {
+                            generator.flush();
+                        }
+                    }
+                    if (count > 0) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+    }
+
+    private TypedQuery<ProductDTO> createQuery(UUID categoryId, Boolean available) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.example.productmanager.dto.ProductDTO(")
+                .append("p.id, p.name, p.description, p.price, p.createdAt, p.updatedAt, p.available, c.id, c.name) ")
+                .append("FROM Product p JOIN p.category c WHERE 1 = 1");
+        if (categoryId != null) {
+            jpql.append(" and c.id = :categoryId");
+        }
+        if (available != null) {
+            jpql.append(" and p.available = :available");
+        }
+        TypedQuery<ProductDTO> query = entityManager.createQuery(jpql.toString(), ProductDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if (available != null) {
+            query.setParameter("available", available);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.dto.ImportReport;
+import com.example.productmanager.dto.ImportRowResult;
+import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.search.ProductSearchIndex;
+import com.example.productmanager.service.ProductImportService;
+import com.example.productmanager.stats.CategoryStatsStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+    private static final String IMPORTED = "IMPORTED";
+    private static final String REJECTED = "REJECTED";
+    // SQL Server accepts at most 2100 parameters per statement.
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private final ProductRepository repository;
+    private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CategoryStatsStore statsStore;
+    private final ProductChangeLog changeLog;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(ProductRepository repository,
+                                    CategoryRepository categoryRepository,
+                                    ProductCache productCache,
+                                    ProductSearchIndex searchIndex,
+                                    CategoryStatsStore statsStore,
+                                    ProductChangeLog changeLog,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${product.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.repository = repository;
+        this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.statsStore = statsStore;
+        this.changeLog = changeLog;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import products from a JSON array, an NDJSON stream or a CSV file with a header row.
+     * Rows are validated and inserted chunk by chunk; each chunk is committed in its own transaction.
+     * A row that cannot be parsed is rejected like an invalid one. Malformed JSON ends the import at that row,
+     * since nothing after it can be read.
+     *
+     * @param inputStream the request body
+     * @param contentType the content type of the request body
+     * @return a ResponseEntity containing a report with the outcome of every row
+     */
+    @Override
+    public ResponseEntity<ImportReport> importProducts(InputStream inputStream, String contentType) throws IOException {
+        ImportReport report = new ImportReport();
+        Set<String> seenNames = new HashSet<>();
+        Set<UUID> knownCategories = new HashSet<>();
+        Iterator<ImportRow> rows = contentType != null && contentType.startsWith("text/csv")
+                ? readCsv(inputStream)
+                : readJson(inputStream);
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, rowNumber, report, seenNames, knownCategories);
+                rowNumber += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, rowNumber, report, seenNames, knownCategories);
+        }
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    private void importChunk(List<ImportRow> chunk, long firstRow, ImportReport report,
+                             Set<String> seenNames, Set<UUID> knownCategories) {
+        Set<String> existingNames = findExistingNames(chunk);
+        knownCategories.addAll(findExistingCategories(chunk, knownCategories));
+
+        List<ImportRowResult> results = new ArrayList<>(chunk.size());
+        List<Product> accepted = new ArrayList<>();
+        List<ImportRowResult> acceptedResults = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            ProductDTO dto = row.product();
+            ImportRowResult result = ImportRowResult.builder().row(firstRow + i + 1).name(row.name()).build();
+            String error = row.error() != null ? row.error() : validate(dto, existingNames, seenNames, knownCategories);
+            if (error != null) {
+                result.setStatus(REJECTED);
+                result.setMessage(error);
+            } else {
+                seenNames.add(dto.getName());
+                accepted.add(convertToObject(dto));
+                acceptedResults.add(result);
+            }
+            results.add(result);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(accepted));
+            for (int i = 0; i < accepted.size(); i++) {
+                acceptedResults.get(i).setStatus(IMPORTED);
+                acceptedResults.get(i).setIdProduct(accepted.get(i).getId());
+                productCache.evictName(accepted.get(i).getName());
+                searchIndex.index(accepted.get(i));
+                statsStore.applyChange(null, accepted.get(i));
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            for (ImportRowResult result : acceptedResults) {
+                result.setStatus(REJECTED);
+                result.setMessage("Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+
+        for (ImportRowResult result : results) {
+            report.setTotal(report.getTotal() + 1);
+            if (IMPORTED.equals(result.getStatus())) {
+                report.setImported(report.getImported() + 1);
+            } else {
+                report.setRejected(report.getRejected() + 1);
+            }
+        }
+        report.getRows().addAll(results);
+    }
+
+    /**
+     * Insert the products with persist rather than save, so no merge SELECT is issued.
+     * Ids are generated in memory, which lets Hibernate group the inserts into JDBC batches.
+     * The change feed rows use identity ids, which Hibernate cannot batch, so they are appended as one JDBC batch.
+     */
+    private void persist(List<Product> products) {
+        for (int i = 0; i < products.size(); i++) {
+            entityManager.persist(products.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        changeLog.recordAll(products.stream().map(ProductChangeLog::summarize).toList(), ProductChange.Operation.CREATED);
+    }
+
+    private String validate(ProductDTO dto, Set<String> existingNames, Set<String> seenNames, Set<UUID> knownCategories) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Name isn't null";
+        }
+        if (dto.getPrice() == null || dto.getPrice() < 0) {
+            return "Invalid price: " + dto.getPrice();
+        }
+        if (seenNames.contains(dto.getName())) {
+            return "Duplicate product name in import: " + dto.getName();
+        }
+        if (existingNames.contains(dto.getName())) {
+            return "Product name already exists: " + dto.getName();
+        }
+        if (dto.getIdCategory() == null || !knownCategories.contains(dto.getIdCategory())) {
+            return "Invalid categoryId: " + dto.getIdCategory();
+        }
+        return null;
+    }
+
+    private Set<String> findExistingNames(List<ImportRow> chunk) {
+        List<String> names = products(chunk)
+                .map(ProductDTO::getName)
+                .filter(name -> name != null && !name.isBlank())
+                .distinct()
+                .toList();
+        Set<String> existing = new HashSet<>();
+        for (int i = 0; i < names.size(); i += MAX_IN_PARAMETERS) {
+            existing.addAll(repository.findExistingNames(names.subList(i, Math.min(i + MAX_IN_PARAMETERS, names.size()))));
+        }
+        return existing;
+    }
+
+    private Set<UUID> findExistingCategories(List<ImportRow> chunk, Set<UUID> knownCategories) {
+        List<UUID> ids = products(chunk)
+                .map(ProductDTO::getIdCategory)
+                .filter(id -> id != null && !knownCategories.contains(id))
+                .distinct()
+                .toList();
+        Set<UUID> existing = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += MAX_IN_PARAMETERS) {
+            existing.addAll(categoryRepository.findExistingIds(ids.subList(i, Math.min(i + MAX_IN_PARAMETERS, ids.size()))));
+        }
+        return existing;
+    }
+
+    private static Stream<ProductDTO> products(List<ImportRow> chunk) {
+        return chunk.stream().map(ImportRow::product).filter(Objects::nonNull);
+    }
+
+    private Product convertToObject(ProductDTO productDTO) {
+        return Product.builder()
+                .name(productDTO.getName())
+                .description(productDTO.getDescription())
+                .price(productDTO.getPrice())
+                .createdAt(productDTO.getCreatedAt() != null ? productDTO.getCreatedAt() : new Date())
+                .available(productDTO.getAvailable() != null ? productDTO.getAvailable() : Boolean.TRUE)
+                .category(entityManager.getReference(Category.class, productDTO.getIdCategory()))
+                .build();
+    }
+
+    /**
+     * Read either a JSON array or whitespace-separated JSON objects; Jackson unwraps a root-level array.
+     * A value that does not map to a ProductDTO is skipped and reading goes on with the next one;
+     * a syntax error stops the reading.
+     */
+    private Iterator<ImportRow> readJson(InputStream inputStream) throws IOException {
+        MappingIterator<ProductDTO> values = objectMapper.readerFor(ProductDTO.class).readValues(inputStream);
+        return new Iterator<>() {
+            private boolean broken;
+            private ImportRow next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ImportRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ImportRow row = next;
+                next = advance();
+                return row;
+            }
+
+            private ImportRow advance() {
+                if (broken) {
+                    return null;
+                }
+                try {
+                    return values.hasNextValue() ? ImportRow.of(values.nextValue()) : null;
+                } catch (JsonMappingException e) {
+                    return ImportRow.malformed(null, e);
+                } catch (JsonProcessingException e) {
+                    broken = true;
+                    return ImportRow.malformed(null, e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Read a CSV file whose header names ProductDTO properties,
+     * e.g. {@code name,description,price,available,idCategory}.
+     */
+    private Iterator<ImportRow> readCsv(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return Collections.emptyIterator();
+        }
+        List<String> header = splitCsvLine(headerLine);
+        return new Iterator<>() {
+            private String next = readNonBlank();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ImportRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> values = splitCsvLine(next);
+                next = readNonBlank();
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size() && i < values.size(); i++) {
+                    if (!values.get(i).isEmpty()) {
+                        row.put(header.get(i).trim(), values.get(i));
+                    }
+                }
+                try {
+                    return ImportRow.of(objectMapper.convertValue(row, ProductDTO.class));
+                } catch (IllegalArgumentException e) {
+                    return ImportRow.malformed(row.get("name"), e);
+                }
+            }
+
+            private String readNonBlank() {
+                try {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                    } while (line != null && line.isBlank());
+                    return line;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * A parsed row, or the reason it could not be parsed.
+     */
+    private record ImportRow(ProductDTO product, String name, String error) {
+        static ImportRow of(ProductDTO product) {
+            return product != null
+                    ? new ImportRow(product, product.getName(), null)
+                    : new ImportRow(null, null, "Malformed row: null");
+        }
+
+        static ImportRow malformed(String name, Exception e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            String message = cause instanceof JsonProcessingException jsonException
+                    ? jsonException.getOriginalMessage()
+                    : cause.getMessage();
+            return new ImportRow(null, name, "Malformed row: " + message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.productmanager.service.impl;
+
+import com.example.productmanager.dto.SearchPage;
+import com.example.productmanager.search.ProductSearchIndex;
+import com.example.productmanager.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+    private final ProductSearchIndex searchIndex;
+
+    /**
+     * Search available products by name and description.
+     *
+     * @param query    the text to search for
+     * @param page     the page number to retrieve
+     * @param pageSize the number of hits per page
+     * @return a ResponseEntity containing a page of hits ordered by relevance
+     */
+    @Override
+    public ResponseEntity<SearchPage> search(String query, int page, int pageSize) {
+        int offset = (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+        ProductSearchIndex.SearchResult hits = searchIndex.search(query, offset, pageSize);
+        SearchPage result = new SearchPage(hits.hits(), page, pageSize, hits.total());
+        if (result.getContent().isEmpty()) {
+            return new ResponseEntity<>(result, HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Suggest product names for a partially typed query.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions
+     * @return a ResponseEntity containing the suggested names
+     */
+    @Override
+    public ResponseEntity<List<String>> autocomplete(String prefix, int limit) {
+        return new ResponseEntity<>(searchIndex.autocomplete(prefix, limit), HttpStatus.OK);
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.productmanager.service.impl;
 
+import com.example.productmanager.cache.CacheRegistry;
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.cache.SingleFlight;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.datasource.PrimaryReads;
+import com.example.productmanager.datasource.ReadYourWritesGuard;
+import com.example.productmanager.dto.CursorPage;
 import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.dto.ProductSummary;
 import com.example.productmanager.exception.CategoryNotFoundException;
 import com.example.productmanager.exception.ExistProductNameException;
+import com.example.productmanager.exception.PreconditionFailedException;
 import com.example.productmanager.exception.ProductNotFoundException;
 import com.example.productmanager.model.Category;
 import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
 import com.example.productmanager.repository.CategoryRepository;
 import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.search.ProductSearchIndex;
 import com.example.productmanager.service.ProductService;
-import lombok.RequiredArgsConstructor;
+import com.example.productmanager.stats.CategoryStatsStore;
+import com.example.productmanager.untils.CursorUntil;
+import com.example.productmanager.untils.TransactionUntil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,28 +32,56 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository repository;
     private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CategoryStatsStore statsStore;
+    private final ProductChangeLog changeLog;
+    private final SingleFlight<String, Product> lookupsByName;
+
+    public ProductServiceImpl(ProductRepository repository,
+                              CategoryRepository categoryRepository,
+                              ProductCache productCache,
+                              ProductSearchIndex searchIndex,
+                              CategoryStatsStore statsStore,
+                              ProductChangeLog changeLog,
+                              CacheRegistry registry,
+                              ObjectProvider<ReadYourWritesGuard> readYourWrites,
+                              @Value("${product.single-flight.timeout:2s}") Duration singleFlightTimeout) {
+        this.repository = repository;
+        this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.statsStore = statsStore;
+        this.changeLog = changeLog;
+        ReadYourWritesGuard guard = readYourWrites.getIfAvailable();
+        this.lookupsByName = registry.register("product.name", new SingleFlight<>(singleFlightTimeout,
+                () -> guard != null && guard.isCurrentUserRecentWriter()));
+    }
 
     /**
      * Retrieve a paginated list of products.
      *
      * @param pageNumber the page number to retrieve
      * @param pageSize   the number of products per page
-     * @return a ResponseEntity containing a Page of Product objects
+     * @return a ResponseEntity containing a Page of ProductSummary rows with their category name
      */
     @Override
-    public ResponseEntity<Page<Product>> paginationProducts(Integer pageNumber, Integer pageSize) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Page<ProductSummary>> paginationProducts(Integer pageNumber, Integer pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Page<Product> products = repository.getAllProducts(pageable);
+        Page<ProductSummary> products = repository.getAllProducts(pageable);
         if (products.isEmpty()) {
             return new ResponseEntity<>(products, HttpStatus.NOT_FOUND);
         } else {
@@ -47,7 +90,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Add a new product.
+     * Add a new product with a single INSERT; name uniqueness and the category are enforced by database constraints.
      *
      * @param productDTO the ProductDTO object containing the information of the new product
      * @return a ResponseEntity containing the created Product object
@@ -55,16 +98,15 @@ public class ProductServiceImpl implements ProductService {
      * @throws CategoryNotFoundException if the category with the given id is not found
      */
     @Override
+    @Transactional
     public ResponseEntity<Product> addProduct(ProductDTO productDTO) {
-        Product product = convertToObject(productDTO);
-        UUID idCategory = product.getCategory().getId();
-        if (repository.existsByName(product.getName())) {
-            throw new ExistProductNameException("Product name already exists: " + product.getName());
-        }
-        if (idCategory != null && !categoryRepository.existsById(idCategory)) {
-            throw new CategoryNotFoundException("Invalid categoryId: " + idCategory);
-        }
-        repository.save(product);
+        Product product = repository.insert(convertToObject(productDTO));
+        changeLog.record(product, ProductChange.Operation.CREATED);
+        TransactionUntil.afterCommit(() -> {
+            productCache.evictName(product.getName());
+            searchIndex.index(product);
+            statsStore.applyChange(null, product);
+        });
         return new ResponseEntity<>(product, HttpStatus.CREATED);
     }
 
@@ -76,7 +118,6 @@ public class ProductServiceImpl implements ProductService {
      */
     private Product convertToObject(ProductDTO productDTO) {
         return Product.builder()
-                .id(productDTO.getIdProduct())
                 .name(productDTO.getName())
                 .description(productDTO.getDescription())
                 .price(productDTO.getPrice())
@@ -97,11 +138,35 @@ public class ProductServiceImpl implements ProductService {
      * @throws ProductNotFoundException if the product with the given id is not found
      */
     @Override
+    @Transactional
     public ResponseEntity<Product> updateProduct(UUID id, ProductDTO productDTO) {
+        return updateProduct(id, productDTO, null);
+    }
+
+    /**
+     * Update a product with the given id if it is still at the version the client read.
+     * Only the changed columns are written, and the UPDATE is conditional on the version,
+     * so a concurrent writer fails with an optimistic locking error instead of being overwritten.
+     *
+     * @param id              the id of the product to update
+     * @param productDTO      the ProductDTO object containing the updated information
+     * @param expectedVersion the version from the client's If-Match header, or null to skip the check
+     * @return a ResponseEntity containing the updated Product object
+     * @throws ProductNotFoundException    if the product with the given id is not found
+     * @throws PreconditionFailedException if the product is no longer at the expected version
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<Product> updateProduct(UUID id, ProductDTO productDTO, Long expectedVersion) {
         Optional<Product> productOptional = repository.findById(id);
         Product product;
         if (productOptional.isPresent()) {
             product = productOptional.get();
+            if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+                throw new PreconditionFailedException("Product " + id + " has been modified, current version is " + product.getVersion());
+            }
+            Product before = (Product) product.clone();
+            String oldName = product.getName();
             if (product.getName() != null) {
                 product.setName(productDTO.getName());
             }
@@ -113,10 +178,18 @@ public class ProductServiceImpl implements ProductService {
             }
             product.setUpdatedAt(new Date());
             product.setAvailable(true);
-            if (product.getCategory().getId() != null) {
-                product.getCategory().setId(productDTO.getIdCategory());
+            if (productDTO.getIdCategory() != null && !productDTO.getIdCategory().equals(before.getCategory().getId())) {
+                product.setCategory(categoryRepository.getReferenceById(productDTO.getIdCategory()));
             }
-            repository.save(product);
+            product = repository.update(product);
+            changeLog.record(product, ProductChange.Operation.UPDATED);
+            Product updated = product;
+            TransactionUntil.afterCommit(() -> {
+                productCache.evict(id, oldName);
+                productCache.evictName(updated.getName());
+                searchIndex.index(updated);
+                statsStore.applyChange(before, updated);
+            });
         } else {
             throw new ProductNotFoundException("Product not found with id: " + id);
         }
@@ -131,15 +204,24 @@ public class ProductServiceImpl implements ProductService {
      * @throws ProductNotFoundException if the product with the given id is not found
      */
     @Override
+    @Transactional
     public ResponseEntity<String> deleteProduct(UUID id) {
         Optional<Product> productOptional = repository.findById(id);
         Product product;
         if (productOptional.isPresent()) {
             product = productOptional.get();
+            Product before = (Product) product.clone();
             if (product.getAvailable() != null) {
                 product.setAvailable(false);
             }
             repository.save(product);
+            changeLog.record(product, ProductChange.Operation.DELETED);
+            Product deleted = product;
+            TransactionUntil.afterCommit(() -> {
+                productCache.evict(id, deleted.getName());
+                searchIndex.remove(id);
+                statsStore.applyChange(before, deleted);
+            });
         } else {
             throw new ProductNotFoundException("Product not found with id: " + id);
         }
@@ -151,11 +233,12 @@ public class ProductServiceImpl implements ProductService {
      *
      * @param pageNumber the page number to retrieve
      * @param pageSize   the number of products per page
-     * @return a ResponseEntity containing a Page of Product objects sorted by price in descending order
+     * @return a ResponseEntity containing a Page of ProductSummary rows sorted by price in descending order
      */
-    public ResponseEntity<Page<Product>> sortProductByPriceDesc(int pageNumber, int pageSize) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Page<ProductSummary>> sortProductByPriceDesc(int pageNumber, int pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("price").descending());
-        Page<Product> products = repository.getAllProducts(pageable);
+        Page<ProductSummary> products = repository.getAllProducts(pageable);
         if (products.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
@@ -165,17 +248,93 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * Find a product by its name.
+     * Concurrent cache misses for the same name share one query, whose result is cached before it is handed out.
+     * A user who has just written runs their own query.
+     * The query reads the primary, so a lagging replica cannot put an outdated product into the cache.
      *
      * @param productName the name of the product to find
      * @return a ResponseEntity containing the retrieved Product object
      * @throws ExistProductNameException if the product with the given name is not found
      */
     public ResponseEntity<Product> findByProductName(String productName) {
-        if (!repository.existsByName(productName)) {
-            throw new ExistProductNameException("Product not found: " + productName);
+        Product product = productCache.getByName(productName);
+        if (product == null) {
+            product = lookupsByName.execute(productName, () -> {
+                Product loaded = PrimaryReads.call(() -> repository.findByName(productName));
+                productCache.put(loaded);
+                return loaded;
+            });
+            if (product == null) {
+                throw new ExistProductNameException("Product not found: " + productName);
+            }
+        }
+        return new ResponseEntity<>(product, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve a product by its id.
+     * A cache miss reads the primary, so a lagging replica cannot put an outdated product into the cache.
+     *
+     * @param id the id of the product to retrieve
+     * @return a ResponseEntity containing the retrieved Product object
+     * @throws ProductNotFoundException if the product with the given id is not found
+     */
+    @Override
+    public ResponseEntity<Product> getProductById(UUID id) {
+        Product product = productCache.getById(id);
+        if (product == null) {
+            product = PrimaryReads.call(() -> repository.findWithCategoryById(id)).orElseThrow(
+                    () -> new ProductNotFoundException("Product not found with id: " + id)
+            );
+            productCache.put(product);
         }
-        return new ResponseEntity<>(repository.findByName(productName), HttpStatus.OK);
+        return new ResponseEntity<>(product, HttpStatus.OK);
     }
 
+    /**
+     * Retrieve a page of available products after the given cursor, ordered by id.
+     * Uses a seek query instead of OFFSET paging and does not count the total.
+     *
+     * @param cursor   the continuation token of the previous page, or null for the first page
+     * @param pageSize the number of products per page
+     * @return a ResponseEntity containing a CursorPage of Product objects
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<Product>> scrollProducts(String cursor, int pageSize) {
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Product> rows = cursor == null
+                ? repository.findFirstAvailable(limit)
+                : repository.findAvailableAfter(CursorUntil.decode(cursor).id(), limit);
+        CursorPage<Product> page = CursorPage.of(rows, pageSize, product -> CursorUntil.encode(null, product.getId()));
+        if (page.getContent().isEmpty()) {
+            return new ResponseEntity<>(page, HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 
+    /**
+     * Retrieve a page of available products after the given cursor, ordered by price in descending order.
+     *
+     * @param cursor   the continuation token of the previous page, or null for the first page
+     * @param pageSize the number of products per page
+     * @return a ResponseEntity containing a CursorPage of Product objects sorted by price in descending order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<Product>> scrollProductsByPriceDesc(String cursor, int pageSize) {
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Product> rows;
+        if (cursor == null) {
+            rows = repository.findFirstAvailableByPriceDesc(limit);
+        } else {
+            CursorUntil.Cursor decoded = CursorUntil.decode(cursor);
+            rows = repository.findAvailableByPriceDescAfter(decoded.sortKeyAsDouble(), decoded.id(), limit);
+        }
+        CursorPage<Product> page = CursorPage.of(rows, pageSize, product -> CursorUntil.encode(product.getPrice(), product.getId()));
+        if (page.getContent().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
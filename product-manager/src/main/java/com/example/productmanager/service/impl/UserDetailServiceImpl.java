@@ -1,21 +1,45 @@
 package com.example.productmanager.service.impl;
 
+import com.example.productmanager.cache.CacheRegistry;
+import com.example.productmanager.cache.LruCache;
+import com.example.productmanager.datasource.PrimaryReads;
 import com.example.productmanager.model.User;
 import com.example.productmanager.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
 
 @Service
-@RequiredArgsConstructor
-public class UserDetailServiceImpl implements UserDetailsService {
+public class UserDetailServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final LruCache<String, UserDetails> userCache;
 
+    public UserDetailServiceImpl(UserRepository userRepository,
+                                 CacheRegistry registry,
+                                 @Value("${security.user-cache.max-size:10000}") int maxSize,
+                                 @Value("${security.user-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.userCache = registry.register("user.details", new LruCache<>(maxSize, ttl));
+    }
+
+    /**
+     * Load a user to check their credentials at login.
+     * Runs in a read-write transaction so it is served by the primary: a user who just registered can sign in
+     * before the replicas have their row. Request authentication goes through {@link #loadAuthenticatedUser}.
+     *
+     * @param email the email of the user
+     * @return the user with the password hash
+     * @throws UsernameNotFoundException if there is no user with this email
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findFirstByEmail(email);
         if (user == null) {
@@ -23,4 +47,44 @@ public class UserDetailServiceImpl implements UserDetailsService {
         }
         return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), new ArrayList<>());
     }
+
+    /**
+     * Load a user for request authentication, served from a short-lived cache.
+     * The cached copy carries no password, so it must not be used to check credentials. A cache miss reads the
+     * primary, so a lagging replica cannot cache a user older than their last change.
+     *
+     * @param email the email of the user
+     * @return the user without credentials
+     * @throws UsernameNotFoundException if there is no user with this email
+     */
+    public UserDetails loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        UserDetails cached = userCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails = PrimaryReads.call(() -> loadUserByUsername(email));
+        UserDetails withoutPassword = new org.springframework.security.core.userdetails.User(
+                userDetails.getUsername(), "", userDetails.getAuthorities());
+        userCache.put(email, withoutPassword);
+        return withoutPassword;
+    }
+
+    /**
+     * Store a password re-hashed at the current work factor.
+     * Called by the authentication provider after a successful login whose stored hash used another cost.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the password encoded with the current work factor
+     * @return the user carrying the new password
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evictUser(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    public void evictUser(String email) {
+        userCache.invalidate(email);
+    }
 }
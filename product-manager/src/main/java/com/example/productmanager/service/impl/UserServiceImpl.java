@@ -8,13 +8,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
 
     public ResponseEntity<User> createUser(UserDTO userDTO) {
         User user = convertToObject(userDTO);
@@ -28,7 +29,7 @@ public class UserServiceImpl implements UserService {
         return User.builder()
                 .id(userDTO.getId())
                 .email(userDTO.getEmail())
-                .password(new BCryptPasswordEncoder().encode(userDTO.getPassword()))
+                .password(passwordEncoder.encode(userDTO.getPassword()))
                 .name(userDTO.getName())
                 .phone(userDTO.getPhone())
                 .build();
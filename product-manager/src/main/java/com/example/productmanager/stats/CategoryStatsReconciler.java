@@ -0,0 +1,52 @@
+package com.example.productmanager.stats;
+
+import com.example.productmanager.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates the category statistics store, loads it once the application has started and periodically
+ * recomputes it with a single grouped query to correct any drift from the incremental updates.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CategoryStatsReconciler {
+    private final CategoryRepository categoryRepository;
+
+    @Bean
+    public CategoryStatsStore categoryStatsStore() {
+        return new CategoryStatsStore();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category.stats.reconcile-interval:PT10M}", initialDelayString = "${category.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        CategoryStatsStore store = categoryStatsStore();
+        long start = System.currentTimeMillis();
+        long startedAt = store.currentSequence();
+        List<CategoryStatsRow> rows = categoryRepository.computeStats();
+        int replaced = store.reconcile(rows, startedAt);
+        log.info("Reconciled statistics of {} categories ({} replaced) in {} ms",
+                rows.size(), replaced, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Recompute one category, used when its min or max price went stale.
+     *
+     * @param categoryId the id of the category
+     */
+    public void refresh(UUID categoryId) {
+        CategoryStatsStore store = categoryStatsStore();
+        long startedAt = store.currentSequence();
+        categoryRepository.computeStats(categoryId).forEach(row -> store.replace(row, startedAt));
+    }
+}
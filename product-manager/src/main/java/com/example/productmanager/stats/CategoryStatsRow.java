@@ -0,0 +1,10 @@
+package com.example.productmanager.stats;
+
+import java.util.UUID;
+
+/**
+ * One row of the grouped statistics query; prices only cover available products that have a price.
+ */
+public record CategoryStatsRow(UUID categoryId, String categoryName, Long productCount, Long availableCount,
+                               Long pricedCount, Double priceSum, Double minPrice, Double maxPrice) {
+}
@@ -0,0 +1,238 @@
+package com.example.productmanager.stats;
+
+import com.example.productmanager.dto.CategoryStats;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory product count and price aggregates per category, maintained incrementally by the write paths.
+ * <p>
+ * Counts and the average are exact. Min and max cannot be decremented, so removing the product holding the
+ * current min or max marks the category stale until {@link CategoryStatsReconciler} reloads it.
+ * Every change is stamped with a sequence number so a reconciliation never overwrites a newer change.
+ */
+public class CategoryStatsStore {
+    private final Map<UUID, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public CategoryStats get(UUID categoryId) {
+        return read(categoryId, aggregate -> aggregate.snapshot(categoryId));
+    }
+
+    public List<CategoryStats> getAll() {
+        List<CategoryStats> stats = new ArrayList<>(aggregates.size());
+        for (UUID categoryId : aggregates.keySet()) {
+            CategoryStats snapshot = get(categoryId);
+            if (snapshot != null) {
+                stats.add(snapshot);
+            }
+        }
+        return stats;
+    }
+
+    public boolean isStale(UUID categoryId) {
+        return Boolean.TRUE.equals(read(categoryId, aggregate -> aggregate.stale));
+    }
+
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    public void putCategory(Category category) {
+        if (category.getId() == null) {
+            return;
+        }
+        long seq = sequence.incrementAndGet();
+        aggregates.compute(category.getId(), (id, current) -> {
+            Aggregate aggregate = current == null ? new Aggregate() : current;
+            aggregate.name = category.getName();
+            aggregate.lastChange = seq;
+            return aggregate;
+        });
+    }
+
+    public void removeCategory(UUID categoryId) {
+        aggregates.remove(categoryId);
+    }
+
+    /**
+     * Apply a product change to the aggregates.
+     *
+     * @param before the product as it was before the change, or null for an insert
+     * @param after  the product as it is after the change, or null for a removal
+     */
+    public void applyChange(Product before, Product after) {
+        UUID from = categoryId(before);
+        UUID to = categoryId(after);
+        long seq = sequence.incrementAndGet();
+        if (from != null && from.equals(to)) {
+            aggregates.computeIfPresent(from, (id, aggregate) -> {
+                aggregate.remove(before);
+                aggregate.add(after);
+                aggregate.lastChange = seq;
+                return aggregate;
+            });
+            return;
+        }
+        if (from != null) {
+            aggregates.computeIfPresent(from, (id, aggregate) -> {
+                aggregate.remove(before);
+                aggregate.lastChange = seq;
+                return aggregate;
+            });
+        }
+        if (to != null) {
+            aggregates.computeIfPresent(to, (id, aggregate) -> {
+                aggregate.add(after);
+                aggregate.lastChange = seq;
+                return aggregate;
+            });
+        }
+    }
+
+    /**
+     * Replace the aggregates with the result of a full recomputation.
+     * Categories changed after {@code startedAt} keep their incremental values.
+     *
+     * @param rows      the recomputed aggregates
+     * @param startedAt the sequence number read before the query was issued
+     * @return the number of categories that were replaced
+     */
+    public int reconcile(Collection<CategoryStatsRow> rows, long startedAt) {
+        int replaced = 0;
+        Set<UUID> seen = new HashSet<>();
+        for (CategoryStatsRow row : rows) {
+            seen.add(row.categoryId());
+            if (replace(row, startedAt)) {
+                replaced++;
+            }
+        }
+        aggregates.entrySet().removeIf(entry -> !seen.contains(entry.getKey()) && entry.getValue().lastChange <= startedAt);
+        return replaced;
+    }
+
+    /**
+     * Replace one category with a recomputed row unless it changed after {@code startedAt}.
+     *
+     * @return true if the row was applied
+     */
+    public boolean replace(CategoryStatsRow row, long startedAt) {
+        boolean[] applied = {false};
+        aggregates.compute(row.categoryId(), (id, current) -> {
+            if (current != null && current.lastChange > startedAt) {
+                return current;
+            }
+            applied[0] = true;
+            return Aggregate.of(row, current == null ? startedAt : current.lastChange);
+        });
+        return applied[0];
+    }
+
+    private <T> T read(UUID categoryId, Function<Aggregate, T> reader) {
+        List<T> result = new ArrayList<>(1);
+        aggregates.computeIfPresent(categoryId, (id, aggregate) -> {
+            result.add(reader.apply(aggregate));
+            return aggregate;
+        });
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    private static UUID categoryId(Product product) {
+        if (product == null) {
+            return null;
+        }
+        Category category = product.getCategory();
+        return category == null ? null : category.getId();
+    }
+
+    /**
+     * Mutable aggregate; only read and written inside {@code ConcurrentHashMap.compute}, which serialises access per key.
+     */
+    private static final class Aggregate {
+        private String name;
+        private long productCount;
+        private long availableCount;
+        private long pricedCount;
+        private double priceSum;
+        private Double minPrice;
+        private Double maxPrice;
+        private boolean stale;
+        private long lastChange;
+
+        static Aggregate of(CategoryStatsRow row, long lastChange) {
+            Aggregate aggregate = new Aggregate();
+            aggregate.name = row.categoryName();
+            aggregate.productCount = valueOf(row.productCount());
+            aggregate.availableCount = valueOf(row.availableCount());
+            aggregate.pricedCount = valueOf(row.pricedCount());
+            aggregate.priceSum = row.priceSum() == null ? 0.0 : row.priceSum();
+            aggregate.minPrice = row.minPrice();
+            aggregate.maxPrice = row.maxPrice();
+            aggregate.lastChange = lastChange;
+            return aggregate;
+        }
+
+        void add(Product product) {
+            if (product == null) {
+                return;
+            }
+            productCount++;
+            if (!Boolean.TRUE.equals(product.getAvailable())) {
+                return;
+            }
+            availableCount++;
+            Double price = product.getPrice();
+            if (price != null) {
+                pricedCount++;
+                priceSum += price;
+                minPrice = minPrice == null ? price : Math.min(minPrice, price);
+                maxPrice = maxPrice == null ? price : Math.max(maxPrice, price);
+            }
+        }
+
+        void remove(Product product) {
+            if (product == null) {
+                return;
+            }
+            productCount = Math.max(0, productCount - 1);
+            if (!Boolean.TRUE.equals(product.getAvailable())) {
+                return;
+            }
+            availableCount = Math.max(0, availableCount - 1);
+            Double price = product.getPrice();
+            if (price != null && pricedCount > 0) {
+                pricedCount--;
+                priceSum -= price;
+                if (pricedCount == 0) {
+                    priceSum = 0.0;
+                    minPrice = null;
+                    maxPrice = null;
+                    stale = false;
+                } else if (Objects.equals(price, minPrice) || Objects.equals(price, maxPrice)) {
+                    stale = true;
+                }
+            }
+        }
+
+        CategoryStats snapshot(UUID categoryId) {
+            Double average = pricedCount == 0 ? null : priceSum / pricedCount;
+            return new CategoryStats(categoryId, name, productCount, availableCount, minPrice, maxPrice, average);
+        }
+
+        private static long valueOf(Long value) {
+            return value == null ? 0L : value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.productmanager.untils;
+
+import com.example.productmanager.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset pagination.
+ * A token carries the sort key and id of the last row of the previous page.
+ */
+public final class CursorUntil {
+    private static final String SEPARATOR = "|";
+
+    private CursorUntil() {
+    }
+
+    public static String encode(Object sortKey, UUID id) {
+        String raw = (sortKey == null ? "" : sortKey.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new Cursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public record Cursor(String sortKey, UUID id) {
+
+        public Double sortKeyAsDouble() {
+            try {
+                return Double.valueOf(sortKey);
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor sort key: " + sortKey);
+            }
+        }
+    }
+}
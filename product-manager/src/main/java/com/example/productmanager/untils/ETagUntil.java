@@ -0,0 +1,62 @@
+package com.example.productmanager.untils;
+
+import com.example.productmanager.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+
+/**
+ * Builds and parses the entity tags of versioned entities.
+ * The tag is the optimistic locking version, so it changes with every committed update.
+ */
+public final class ETagUntil {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUntil() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Read the version a client expects from an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, may be null
+     * @return the expected version, or null when the header is absent or matches any version
+     * @throws PreconditionFailedException if the header is not a tag issued by this service
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+        }
+    }
+
+    /**
+     * Add the ETag of the body to a response.
+     * For a 200 response to a GET, Spring MVC then answers a matching {@code If-None-Match} with 304 and no body.
+     */
+    public static <T> ResponseEntity<T> withETag(ResponseEntity<T> response, Function<T, Long> version) {
+        T body = response.getBody();
+        if (body == null || version.apply(body) == null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(of(version.apply(body)))
+                .body(body);
+    }
+}
@@ -1,25 +1,35 @@
 package com.example.productmanager.untils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Function;
 
 @Component
 public class JwtUntil {
     private static final String SECRET = "Xto0xhFFweSoJzeHfco4lTOdBXz9A8BGguDq3lgpi8r1iTkqBN";
+    public static final long EXPIRATION_MILLIS = 1000 * 60 * 30;
+    public static final String AUTHORITIES = "roles";
+    public static final String TOKEN_VERSION = "ver";
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private final Key signKey;
+    private final JwtParser parser;
+
+    public JwtUntil() {
+        this.signKey = getSignKey();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -31,35 +41,71 @@ public class JwtUntil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaim(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verify the signature of a token and return its claims.
+     *
+     * @param token the compact JWT
+     * @return the claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims extractAllClaim(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, List.of(), 0);
+    }
+
+    /**
+     * Create a token that carries everything needed to authenticate its requests without loading the user.
+     *
+     * @param username     the subject
+     * @param authorities  the authorities of the user, stored in the {@value #AUTHORITIES} claim
+     * @param tokenVersion the token version of the user, stored in the {@value #TOKEN_VERSION} claim
+     * @return the signed compact JWT, with a random id
+     */
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities, long tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES, authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        claims.put(TOKEN_VERSION, tokenVersion);
         return createToken(claims, username);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<?> authorities = claims.get(AUTHORITIES, List.class);
+        if (authorities == null) {
+            return new ArrayList<>();
+        }
+        List<GrantedAuthority> result = new ArrayList<>(authorities.size());
+        for (Object authority : authorities) {
+            result.add(new SimpleGrantedAuthority(String.valueOf(authority)));
+        }
+        return result;
+    }
+
+    public long extractTokenVersion(Claims claims) {
+        Number version = claims.get(TOKEN_VERSION, Number.class);
+        return version == null ? 0 : version.longValue();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaim(token);
+        return validateClaims(claims, userDetails);
+    }
+
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     private String createToken(Map<String, Object> claims, String username) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() * 1000 * 60 * 30))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + EXPIRATION_MILLIS))
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
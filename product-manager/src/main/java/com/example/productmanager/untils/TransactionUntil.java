@@ -0,0 +1,30 @@
+package com.example.productmanager.untils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUntil {
+
+    private TransactionUntil() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or right away when there is none.
+     * In-memory caches and indexes are updated this way, so a rolled back write never reaches them
+     * and a concurrent read cannot put the old row back into a cache between the eviction and the commit.
+     *
+     * @param action the action to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
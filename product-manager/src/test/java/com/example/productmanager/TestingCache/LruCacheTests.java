@@ -0,0 +1,86 @@
+package com.example.productmanager.TestingCache;
+
+import com.example.productmanager.cache.LruCache;
+import com.example.productmanager.dto.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class LruCacheTests {
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntry() {
+        LruCache<String, Integer> cache = new LruCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(3, cache.get("c"));
+        Assertions.assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testSizeNeverExceedsMaxSize() {
+        LruCache<Integer, Integer> cache = new LruCache<>(3, Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.get(6));
+        Assertions.assertEquals(7, cache.get(7));
+        Assertions.assertEquals(9, cache.get(9));
+        Assertions.assertEquals(7, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testEntryExpiresAfterTtl() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(10, Duration.ofMillis(50));
+        cache.put("a", 1);
+        Assertions.assertEquals(1, cache.get("a"));
+
+        Thread.sleep(100);
+
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals(0, cache.size());
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(1, stats.getMisses());
+        Assertions.assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    void testExplicitExpiryIsCappedByTtl() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(10, Duration.ofMillis(50));
+        cache.put("expired", 1, System.currentTimeMillis() - 1);
+        cache.put("capped", 2, System.currentTimeMillis() + 60_000);
+
+        Assertions.assertNull(cache.get("expired"));
+        Thread.sleep(100);
+        Assertions.assertNull(cache.get("capped"));
+    }
+
+    @Test
+    void testInvalidate() {
+        LruCache<String, Integer> cache = new LruCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidate("a");
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals(2, cache.get("b"));
+
+        cache.invalidateAll();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testMaxSizeMustBePositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0, Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.productmanager.TestingCache;
+
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Checks that the name index of the product cache never serves a product under a name it no longer has.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-cache;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.clear();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        product = productRepository.save(Product.builder()
+                .name("product").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+
+    @Test
+    void renameDropsTheOldName() throws Exception {
+        findByName("product").andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertNotNull(productCache.getByName("product"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\",\"description\":\"description\",\"price\":20.0,"
+                                + "\"idCategory\":\"" + category.getId() + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertNull(productCache.getByName("product"));
+        Assertions.assertNull(productCache.getById(product.getId()));
+        findByName("product").andExpect(MockMvcResultMatchers.status().isBadRequest());
+        findByName("renamed")
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.price").value(20.0));
+    }
+
+    @Test
+    void deleteDropsTheName() throws Exception {
+        findByName("product").andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/product/delete/" + product.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertNull(productCache.getByName("product"));
+        Assertions.assertNull(productCache.getById(product.getId()));
+        findByName("product").andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void nameMappingToAnotherNameOrAnUnavailableProductIsDropped() {
+        UUID id = UUID.randomUUID();
+        productCache.put(Product.builder().id(id).name("old").available(true).build());
+        productCache.put(Product.builder().id(id).name("new").available(true).build());
+
+        // The id entry was replaced, so the mapping of the old name points to a product with another name.
+        Assertions.assertNull(productCache.getByName("old"));
+        Assertions.assertEquals(id, productCache.getByName("new").getId());
+
+        productCache.put(Product.builder().id(id).name("new").available(false).build());
+        Assertions.assertNull(productCache.getByName("new"));
+        Assertions.assertNotNull(productCache.getById(id));
+    }
+
+    private ResultActions findByName(String name) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/product/find-by-name").param("name", name));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.productmanager.TestingCache;
+
+import com.example.productmanager.cache.CacheRegistry;
+import com.example.productmanager.cache.TokenCache;
+import com.example.productmanager.model.User;
+import com.example.productmanager.repository.UserRepository;
+import com.example.productmanager.service.impl.UserDetailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenCacheTests {
+    private static final String EMAIL = "example@example.com";
+
+    private CacheRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CacheRegistry(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testTokenIsServedUntilItExpires() throws InterruptedException {
+        TokenCache tokenCache = new TokenCache(registry, 100, Duration.ofMinutes(5));
+        UserDetails user = userDetails();
+
+        tokenCache.put("live-token", user, System.currentTimeMillis() + 60_000);
+        tokenCache.put("expiring-token", user, System.currentTimeMillis() + 50);
+        tokenCache.put("expired-token", user, System.currentTimeMillis() - 1);
+
+        Assertions.assertSame(user, tokenCache.get("live-token"));
+        Assertions.assertNull(tokenCache.get("expired-token"));
+        Thread.sleep(100);
+        Assertions.assertNull(tokenCache.get("expiring-token"));
+        Assertions.assertSame(user, tokenCache.get("live-token"));
+    }
+
+    @Test
+    void testTokenIsNotKeptLongerThanTheCacheTtl() throws InterruptedException {
+        TokenCache tokenCache = new TokenCache(registry, 100, Duration.ofMillis(50));
+
+        tokenCache.put("token", userDetails(), System.currentTimeMillis() + 60_000);
+        Thread.sleep(100);
+
+        Assertions.assertNull(tokenCache.get("token"));
+    }
+
+    @Test
+    void testInvalidateAndClear() {
+        TokenCache tokenCache = new TokenCache(registry, 100, Duration.ofMinutes(5));
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        tokenCache.put("first", userDetails(), expiresAt);
+        tokenCache.put("second", userDetails(), expiresAt);
+
+        tokenCache.invalidate("first");
+        Assertions.assertNull(tokenCache.get("first"));
+        Assertions.assertNotNull(tokenCache.get("second"));
+
+        tokenCache.clear();
+        Assertions.assertNull(tokenCache.get("second"));
+    }
+
+    @Test
+    void testAuthenticatedUserIsCachedWithoutPassword() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findFirstByEmail(EMAIL))
+                .thenReturn(User.builder().email(EMAIL).password("$2a$10$hash").build());
+        UserDetailServiceImpl service = new UserDetailServiceImpl(userRepository, registry, 100, Duration.ofMinutes(5));
+
+        UserDetails first = service.loadAuthenticatedUser(EMAIL);
+        UserDetails second = service.loadAuthenticatedUser(EMAIL);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(EMAIL, first.getUsername());
+        Assertions.assertEquals("", first.getPassword());
+        verify(userRepository, times(1)).findFirstByEmail(EMAIL);
+        // The login path still sees the hash.
+        Assertions.assertEquals("$2a$10$hash", service.loadUserByUsername(EMAIL).getPassword());
+        Assertions.assertEquals("", service.loadAuthenticatedUser(EMAIL).getPassword());
+
+        service.evictUser(EMAIL);
+        service.loadAuthenticatedUser(EMAIL);
+        verify(userRepository, times(3)).findFirstByEmail(EMAIL);
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        UserDetailServiceImpl service = new UserDetailServiceImpl(userRepository, registry, 100, Duration.ofMinutes(5));
+
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> service.loadAuthenticatedUser(EMAIL));
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> service.loadAuthenticatedUser(EMAIL));
+        verify(userRepository, times(2)).findFirstByEmail(EMAIL);
+    }
+
+    private static UserDetails userDetails() {
+        return new org.springframework.security.core.userdetails.User(EMAIL, "", List.of());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.productmanager.TestingCache;
+
+import com.example.productmanager.cache.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenDenylistTests {
+    private static final String EMAIL = "example@example.com";
+
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new TokenDenylist(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRevokedTokenIdIsRejectedUntilItExpires() {
+        long now = System.currentTimeMillis();
+        denylist.revokeToken("revoked", now + 60_000);
+        denylist.revokeToken("expired", now - 1);
+        denylist.revokeToken(null, now + 60_000);
+
+        Assertions.assertTrue(denylist.isRevoked("revoked", EMAIL, 0));
+        Assertions.assertFalse(denylist.isRevoked("expired", EMAIL, 0));
+        Assertions.assertFalse(denylist.isRevoked("other", EMAIL, 0));
+        Assertions.assertFalse(denylist.isRevoked(null, EMAIL, 0));
+        Assertions.assertEquals(2, denylist.size());
+    }
+
+    @Test
+    void testVersionRevocationRejectsOnlyOlderVersionsOfThatUser() {
+        denylist.revokeVersionsBelow(EMAIL, 3, System.currentTimeMillis() + 60_000);
+
+        Assertions.assertTrue(denylist.isRevoked("any", EMAIL, 2));
+        Assertions.assertFalse(denylist.isRevoked("any", EMAIL, 3));
+        Assertions.assertFalse(denylist.isRevoked("any", "other@example.com", 0));
+    }
+
+    @Test
+    void testVersionRevocationsKeepTheHighestVersionAndExpiry() {
+        long now = System.currentTimeMillis();
+        denylist.revokeVersionsBelow(EMAIL, 5, now + 60_000);
+        denylist.revokeVersionsBelow(EMAIL, 2, now - 1);
+
+        Assertions.assertTrue(denylist.isRevoked("any", EMAIL, 4));
+        Assertions.assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void testExpiredVersionRevocationNoLongerApplies() {
+        denylist.revokeVersionsBelow(EMAIL, 3, System.currentTimeMillis() - 1);
+
+        Assertions.assertFalse(denylist.isRevoked("any", EMAIL, 2));
+    }
+
+    @Test
+    void testPurgeExpiredDropsOnlyExpiredEntries() {
+        long now = System.currentTimeMillis();
+        denylist.revokeToken("live", now + 60_000);
+        denylist.revokeToken("expired", now - 1);
+        denylist.revokeVersionsBelow(EMAIL, 3, now + 60_000);
+        denylist.revokeVersionsBelow("other@example.com", 2, now - 1);
+        Assertions.assertEquals(4, denylist.size());
+
+        denylist.purgeExpired();
+
+        Assertions.assertEquals(2, denylist.size());
+        Assertions.assertTrue(denylist.isRevoked("live", "nobody", 0));
+        Assertions.assertTrue(denylist.isRevoked("any", EMAIL, 2));
+    }
+}
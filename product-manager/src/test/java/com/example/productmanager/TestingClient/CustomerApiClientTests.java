@@ -0,0 +1,201 @@
+package com.example.productmanager.TestingClient;
+
+import com.example.productmanager.client.CircuitBreaker;
+import com.example.productmanager.client.CustomerApiClient;
+import com.example.productmanager.client.CustomerSyncJob;
+import com.example.productmanager.config.CustomerApiProperties;
+import com.example.productmanager.exception.CircuitOpenException;
+import com.example.productmanager.exception.CustomerApiException;
+import com.example.productmanager.model.Customer;
+import com.example.productmanager.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CustomerApiClientTests {
+
+    private HttpServer server;
+    private CustomerApiProperties properties;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int failuresBeforeSuccess;
+    private volatile long delayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/customer", exchange -> {
+            int call = calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body;
+            int status;
+            if (call <= failuresBeforeSuccess) {
+                status = 503;
+                body = "{}".getBytes(StandardCharsets.UTF_8);
+            } else if ("GET".equals(exchange.getRequestMethod()) && exchange.getRequestURI().getPath().equals("/api/customer")) {
+                status = 200;
+                body = "[{\"id\":1,\"name\":\"Hoang\"},{\"id\":2,\"name\":\"Lan\"}]".getBytes(StandardCharsets.UTF_8);
+            } else {
+                status = "POST".equals(exchange.getRequestMethod()) ? 201 : 200;
+                body = "{\"id\":3,\"name\":\"Minh\"}".getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new CustomerApiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api/customer");
+        properties.setRequestTimeout(Duration.ofMillis(500));
+        properties.setInitialBackoff(Duration.ofMillis(5));
+        properties.setMaxBackoff(Duration.ofMillis(20));
+        properties.setMaxAttempts(3);
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testFindAll_RetriesTransientFailures() {
+        failuresBeforeSuccess = 2;
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        List<Customer> customers = client.findAll().join();
+
+        Assertions.assertEquals(2, customers.size());
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testCreate_IsNotRetried() {
+        failuresBeforeSuccess = 1;
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        CompletionException error = Assertions.assertThrows(CompletionException.class,
+                () -> client.create(Customer.builder().name("Minh").build()).join());
+
+        Assertions.assertInstanceOf(CustomerApiException.class, error.getCause());
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testCircuitOpensAfterRepeatedFailures() {
+        failuresBeforeSuccess = Integer.MAX_VALUE;
+        properties.setMaxAttempts(1);
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        Assertions.assertThrows(CompletionException.class, () -> client.findById(1L).join());
+        Assertions.assertThrows(CompletionException.class, () -> client.findById(1L).join());
+        CompletionException error = Assertions.assertThrows(CompletionException.class, () -> client.findById(1L).join());
+
+        Assertions.assertInstanceOf(CircuitOpenException.class, error.getCause());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testSlowResponseTimesOut() {
+        delayMillis = 1000;
+        properties.setMaxAttempts(1);
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        CompletionException error = Assertions.assertThrows(CompletionException.class, () -> client.findById(1L).join());
+
+        Assertions.assertInstanceOf(CustomerApiException.class, error.getCause());
+    }
+
+    @Test
+    void testSyncRequestedWhileRunningJoinsIt() {
+        delayMillis = 200;
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        CustomerRepository repository = Mockito.mock(CustomerRepository.class);
+        CustomerSyncJob job = new CustomerSyncJob(client, repository, Runnable::run);
+        try {
+            CompletableFuture<Void> first = job.requestSync();
+            CompletableFuture<Void> joined = job.requestSync();
+
+            Assertions.assertSame(first, joined);
+            joined.join();
+            Mockito.verify(repository).saveAll(Mockito.anyList());
+            Assertions.assertEquals(1, calls.get());
+
+            // Once done, the next request starts a new sync.
+            job.requestSync().join();
+            Assertions.assertEquals(2, calls.get());
+        } finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    void testCallBeyondTheConcurrencyLimitFailsAtOnce() {
+        delayMillis = 300;
+        properties.setMaxConcurrentRequests(1);
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        try {
+            CompletableFuture<Customer> inFlight = client.findById(1L);
+
+            long start = System.nanoTime();
+            CompletableFuture<Customer> rejected = client.findById(2L);
+            long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Assertions.assertTrue(rejected.isCompletedExceptionally());
+            Assertions.assertTrue(waitedMillis < 100, "waited " + waitedMillis + " ms for a permit");
+            CompletionException error = Assertions.assertThrows(CompletionException.class, rejected::join);
+            Assertions.assertInstanceOf(CustomerApiException.class, error.getCause());
+            inFlight.join();
+            Assertions.assertEquals(1, calls.get());
+        } finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    void testSyncWritesTheTableOffTheHttpClientPool() {
+        CustomerApiClient client = new CustomerApiClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        CustomerRepository repository = Mockito.mock(CustomerRepository.class);
+        AtomicReference<String> writer = new AtomicReference<>();
+        Mockito.when(repository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            writer.set(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        ExecutorService database = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "database-writer"));
+        TaskExecutor taskExecutor = database::execute;
+        try {
+            new CustomerSyncJob(client, repository, taskExecutor).requestSync().join();
+
+            Assertions.assertEquals("database-writer", writer.get());
+        } finally {
+            database.shutdownNow();
+            client.destroy();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.repository.CategoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+/**
+ * Hammers the category endpoints from many threads at once and checks that every response describes the category
+ * its own request asked for, so state leaking between concurrent requests shows up as a mismatch.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:category-concurrency;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+class CategoryConcurrencyTests {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 100;
+    private static final int CATEGORIES = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Category> categories = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        categoryRepository.deleteAll();
+        categories.clear();
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories.add(categoryRepository.save(Category.builder()
+                    .name("category-" + c).description("description").active(true)
+                    .createdAt(new Date()).updatedAt(new Date()).build()));
+        }
+    }
+
+    @Test
+    void concurrentRequestsOnlySeeTheirOwnCategory() throws Exception {
+        Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        Category category = categories.get((thread + i) % CATEGORIES);
+                        switch (i % 3) {
+                            case 0 -> checkGet(category, mismatches);
+                            case 1 -> checkUpdate(category, thread, i, mismatches);
+                            default -> checkAdd(thread, i, mismatches);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertTrue(mismatches.isEmpty(), () -> mismatches.size() + " mismatched responses, e.g. " + mismatches.peek());
+    }
+
+    private void checkGet(Category category, Queue<String> mismatches) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.get("/category/" + category.getId())
+                .with(user("user"))).andReturn().getResponse();
+        JsonNode body = body(response, HttpStatus.OK, mismatches);
+        if (body != null && !category.getId().toString().equals(body.path("id").asText())) {
+            mismatches.add("GET " + category.getId() + " returned " + body.path("id").asText());
+        }
+    }
+
+    private void checkUpdate(Category category, int thread, int i, Queue<String> mismatches) throws Exception {
+        String name = category.getName() + "-" + thread + "-" + i;
+        MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.put("/category/update/" + category.getId())
+                .with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"description\":\"description\",\"active\":true}"))
+                .andReturn().getResponse();
+        // Two threads updating the same category may collide; the loser is rejected, never silently mixed up.
+        if (response.getStatus() == HttpStatus.PRECONDITION_FAILED.value()) {
+            return;
+        }
+        JsonNode body = body(response, HttpStatus.OK, mismatches);
+        if (body != null && (!category.getId().toString().equals(body.path("id").asText())
+                || !name.equals(body.path("name").asText()))) {
+            mismatches.add("PUT " + category.getId() + " as " + name + " returned " + body);
+        }
+    }
+
+    private void checkAdd(int thread, int i, Queue<String> mismatches) throws Exception {
+        String name = "added-" + thread + "-" + i;
+        MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.post("/category/add")
+                .with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"description\":\"description\",\"active\":true}"))
+                .andReturn().getResponse();
+        JsonNode body = body(response, HttpStatus.CREATED, mismatches);
+        if (body != null && !name.equals(body.path("name").asText())) {
+            mismatches.add("POST " + name + " returned " + body);
+        }
+    }
+
+    private JsonNode body(MockHttpServletResponse response, HttpStatus expected, Queue<String> mismatches) throws Exception {
+        if (response.getStatus() != expected.value()) {
+            mismatches.add("status " + response.getStatus() + ": " + response.getContentAsString());
+            return null;
+        }
+        return objectMapper.readTree(response.getContentAsString());
+    }
+}
@@ -4,6 +4,7 @@ import com.example.productmanager.controller.CategoryController;
 import com.example.productmanager.dto.CategoryDTO;
 import com.example.productmanager.exception.CategoryNotFoundException;
 import com.example.productmanager.model.Category;
+import com.example.productmanager.service.CategoryDeletionService;
 import com.example.productmanager.service.CategoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,8 @@ class CategoryControllerTests {
 
     @MockBean
     private CategoryService service;
+    @MockBean
+    private CategoryDeletionService deletionService;
 
     @Test
     void testPageCategoryReturn404() throws Exception {
@@ -0,0 +1,151 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.stats.CategoryStatsReconciler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs category deletion jobs in every mode against H2 with small chunks and polls their progress through the API.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:category-deletion;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "category.deletion.chunk-size=10",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class CategoryDeletionJobTests {
+    private static final int PRODUCTS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    @Autowired
+    private CategoryStatsReconciler statsReconciler;
+
+    private Category category;
+    private Category target;
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        changeRepository.deleteAll();
+        productIds.clear();
+        category = saveCategory("category");
+        target = saveCategory("target");
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productRepository.save(Product.builder()
+                    .name("product-" + i).description("description").price(10.0).available(true)
+                    .createdAt(new Date()).updatedAt(new Date()).category(category).build()).getId());
+        }
+    }
+
+    @Test
+    void deleteRemovesProductsAndCategory() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/" + productIds.get(0)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        JsonNode job = runJob("DELETE", null);
+
+        Assertions.assertEquals(PRODUCTS, job.path("total").asLong());
+        Assertions.assertEquals(PRODUCTS, job.path("processed").asLong());
+        Assertions.assertEquals(0, productRepository.count());
+        Assertions.assertFalse(categoryRepository.existsById(category.getId()));
+        Assertions.assertEquals(PRODUCTS + 1, changeRepository.count());
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/" + productIds.get(0)))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void deactivateKeepsProductsAndCategory() throws Exception {
+        runJob("DEACTIVATE", null);
+
+        Assertions.assertEquals(PRODUCTS, productRepository.count());
+        Assertions.assertTrue(productRepository.findAll().stream().noneMatch(Product::getAvailable));
+        Assertions.assertFalse(categoryRepository.findById(category.getId()).orElseThrow().getActive());
+    }
+
+    @Test
+    void reassignMovesProductsBeforeDeletingCategory() throws Exception {
+        statsReconciler.reconcile();
+        runJob("REASSIGN", target.getId());
+
+        Assertions.assertFalse(categoryRepository.existsById(category.getId()));
+        Assertions.assertEquals(PRODUCTS, productRepository.countByCategoryId(target.getId()));
+        mockMvc.perform(MockMvcRequestBuilders.get("/category/" + target.getId() + "/stats"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.productCount").value(PRODUCTS));
+    }
+
+    @Test
+    void reassignNeedsAnotherCategory() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/category/" + category.getId() + "/deletion")
+                        .param("products", "REASSIGN").param("targetId", category.getId().toString()))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post("/category/" + category.getId() + "/deletion")
+                        .param("products", "REASSIGN").param("targetId", UUID.randomUUID().toString()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        Assertions.assertEquals(PRODUCTS, productRepository.countByCategoryId(category.getId()));
+    }
+
+    private JsonNode runJob(String mode, UUID targetId) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/category/" + category.getId() + "/deletion").param("products", mode);
+        if (targetId != null) {
+            request.param("targetId", targetId.toString());
+        }
+        String location = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.get(location))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"RUNNING".equals(job.path("status").asText())) {
+                Assertions.assertEquals("COMPLETED", job.path("status").asText(), job.toString());
+                return job;
+            }
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "job still running: " + job);
+            Thread.sleep(50);
+        }
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name).description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Date;
+
+/**
+ * Checks the ETag handling of the single product and category endpoints against H2:
+ * a matching If-None-Match returns 304 without a body, and an update with a stale If-Match returns 412.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-requests;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ConditionalRequestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        product = productRepository.save(Product.builder()
+                .name("product").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+
+    @Test
+    void unchangedProductReturnsNotModified() throws Exception {
+        String etag = etag("/product/" + product.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void productUpdateWithCurrentETagChangesIt() throws Exception {
+        String etag = etag("/product/" + product.getId());
+
+        String updated = mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + product.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("renamed")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Assertions.assertNotEquals(etag, updated);
+        Assertions.assertEquals(updated, etag("/product/" + product.getId()));
+    }
+
+    @Test
+    void productUpdateWithStaleETagIsRejected() throws Exception {
+        String etag = etag("/product/" + product.getId());
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + product.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("first")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + product.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("second")))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        Assertions.assertEquals("first", productRepository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void categoryUpdateWithStaleETagIsRejected() throws Exception {
+        String etag = etag("/category/" + category.getId());
+        mockMvc.perform(MockMvcRequestBuilders.get("/category/" + category.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.put("/category/update/" + category.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(categoryJson("first")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/category/update/" + category.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(categoryJson("second")))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+        return etag;
+    }
+
+    private String productJson(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"price\":20.0,\"available\":true,"
+                + "\"idCategory\":\"" + category.getId() + "\"}";
+    }
+
+    private String categoryJson(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"active\":true}";
+    }
+}
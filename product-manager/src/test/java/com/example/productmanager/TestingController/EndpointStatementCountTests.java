@@ -0,0 +1,114 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements each read endpoint issues against an in-memory H2 database,
+ * so an N+1 or a lazy load during serialization shows up as a failing count.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class EndpointStatementCountTests {
+    private static final int CATEGORIES = 3;
+    private static final int PRODUCTS_PER_CATEGORY = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Product> products = new ArrayList<>();
+    private Category category;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        products.clear();
+        for (int c = 0; c < CATEGORIES; c++) {
+            category = categoryRepository.save(Category.builder()
+                    .name("category-" + c).description("description").active(true)
+                    .createdAt(new Date()).updatedAt(new Date()).build());
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                products.add(productRepository.save(Product.builder()
+                        .name("product-" + c + "-" + p).description("description").price(10.0 * p).available(true)
+                        .createdAt(new Date()).updatedAt(new Date()).category(category).build()));
+            }
+        }
+    }
+
+    @Test
+    void productPageUsesOneQueryAndOneCount() throws Exception {
+        assertStatements("/product/all", 2);
+        assertStatements("/product/sort-by-price", 2);
+    }
+
+    @Test
+    void productPageIncludesCategoryName() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/all"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].categoryName").exists());
+    }
+
+    @Test
+    void productScrollUsesOneQuery() throws Exception {
+        assertStatements("/product/scroll?size=10", 1);
+        assertStatements("/product/sort-by-price/scroll?size=10", 1);
+    }
+
+    @Test
+    void singleProductUsesOneQuery() throws Exception {
+        assertStatements("/product/" + products.get(0).getId(), 1);
+        assertStatements("/product/find-by-name?name=" + products.get(1).getName(), 1);
+    }
+
+    @Test
+    void categoryEndpointsDoNotLoadProducts() throws Exception {
+        // All categories fit on the first page, so Spring Data skips the count query.
+        assertStatements("/category/all", 1);
+        assertStatements("/category/scroll?size=10", 1);
+        // Saved categories are already in the second-level cache.
+        assertStatements("/category/" + category.getId(), 0);
+    }
+
+    private void assertStatements(String url, long expected) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertEquals(expected, statistics.getPrepareStatementCount(), "statements issued by " + url);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.cache.ProductCache;
+import com.example.productmanager.cache.SingleFlight;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+/**
+ * Sends a thundering herd of identical lookups at a cold cache and counts the queries reaching the database.
+ * Every product and category SELECT is slowed down, so the whole herd arrives while the first query is in flight.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lookup-coalescing;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.productmanager.TestingController.LookupCoalescingTests$SlowLookups",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+class LookupCoalescingTests {
+    private static final int REQUESTS = 64;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        productRepository.save(Product.builder()
+                .name("viral").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+        productCache.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void herdOnOneProductNameRunsOneQuery() throws Exception {
+        double collapsed = count("product.name", "collapsed");
+
+        int queries = herd(() -> MockMvcRequestBuilders.get("/product/find-by-name").param("name", "viral"), "from product ");
+
+        // Without coalescing each of the requests that missed the cold cache would have run its own query.
+        Assertions.assertEquals(1, queries);
+        Assertions.assertTrue(count("product.name", "collapsed") - collapsed >= REQUESTS / 2);
+    }
+
+    @Test
+    void herdOnOneCategoryRunsOneQuery() throws Exception {
+        double collapsed = count("category.id", "collapsed");
+
+        int queries = herd(() -> MockMvcRequestBuilders.get("/category/" + category.getId()), "from category ");
+
+        Assertions.assertEquals(1, queries);
+        Assertions.assertTrue(count("category.id", "collapsed") - collapsed >= REQUESTS / 2);
+    }
+
+    @Test
+    void callersStopWaitingForALookupThatTakesTooLongAndShareANewOne() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(300));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger lookups = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS + 1);
+        try {
+            Future<String> stuck = executor.submit(() -> singleFlight.execute("key", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "stuck";
+            }));
+            while (singleFlight.inFlight() == 0) {
+                Thread.sleep(1);
+            }
+            List<Future<String>> waiters = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                waiters.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute("key", () -> {
+                        lookups.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return "new";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> waiter : waiters) {
+                Assertions.assertEquals("new", waiter.get(1, TimeUnit.MINUTES));
+            }
+
+            // The callers gave up on the stuck lookup together, and only one of them ran a new lookup.
+            Assertions.assertEquals(1, lookups.get());
+            Assertions.assertEquals(REQUESTS, singleFlight.getTimedOut());
+            Assertions.assertEquals(REQUESTS - 1, singleFlight.getCollapsed());
+            // The stuck lookup was forgotten, so the next caller does not wait for it.
+            Assertions.assertEquals("next", singleFlight.execute("key", () -> "next"));
+            Assertions.assertEquals(REQUESTS, singleFlight.getTimedOut());
+
+            release.countDown();
+            Assertions.assertEquals("stuck", stuck.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void callersInsideATransactionOrMarkedToRunAloneRunTheirOwnLookup() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(1), () -> true);
+
+        Assertions.assertEquals("own", singleFlight.execute("key", () -> "own"));
+        Assertions.assertEquals(1, singleFlight.getBypassed());
+        Assertions.assertEquals(0, singleFlight.getExecuted());
+
+        SingleFlight<String, String> shared = new SingleFlight<>(Duration.ofSeconds(1));
+        Assertions.assertEquals("own", transactionTemplate.execute(status -> shared.execute("key", () -> "own")));
+        Assertions.assertEquals(1, shared.getBypassed());
+    }
+
+    /**
+     * Release all requests at once and return the number of SELECTs they ran against the given table.
+     */
+    private int herd(Supplier<MockHttpServletRequestBuilder> request, String table) throws Exception {
+        SlowLookups.QUERIES.set(0);
+        SlowLookups.table = table;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    mockMvc.perform(request.get().with(user("user"))).andExpect(MockMvcResultMatchers.status().isOk());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            SlowLookups.table = null;
+            executor.shutdownNow();
+        }
+        return SlowLookups.QUERIES.get();
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get("singleflight.calls").tags("name", name, "result", result).functionCounter().count();
+    }
+
+    /**
+     * Counts the SELECTs on the table under test and holds each one back, standing in for a slow query.
+     */
+    public static class SlowLookups implements StatementInspector {
+        static final AtomicInteger QUERIES = new AtomicInteger();
+        static volatile String table;
+
+        @Override
+        public String inspect(String sql) {
+            String watched = table;
+            if (watched != null && sql.startsWith("select") && sql.contains(watched)) {
+                QUERIES.incrementAndGet();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Toggles availability in bulk against H2 and checks the statement count, the caches and the change feed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-bulk;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "product.bulk.chunk-size=10",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductBulkTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private Category otherCategory;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        changeRepository.deleteAll();
+        category = saveCategory("category");
+        otherCategory = saveCategory("other");
+    }
+
+    @Test
+    void deleteByIdsUsesTwoStatementsPerChunk() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(saveProduct("product-" + i, 10.0, category).getId());
+        }
+        saveProduct("kept", 10.0, category);
+        ids.add(UUID.randomUUID());
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/" + ids.get(0))).andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/find-by-name").param("name", "product-1"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JsonNode report = bulk(MockMvcRequestBuilders.post("/product/bulk/delete"), objectMapper.writeValueAsString(new IdsBody(ids)));
+
+        Assertions.assertEquals(20, report.path("updated").asLong());
+        Assertions.assertEquals(1, report.path("skipped").asLong());
+        // Two chunks of ten ids with one SELECT and one UPDATE each, and a last chunk holding only the unknown id,
+        // which needs no UPDATE. The change feed rows are written as a JDBC batch.
+        Assertions.assertEquals(5, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(20, changeRepository.count());
+        Assertions.assertEquals(1, productRepository.findAll().stream().filter(Product::getAvailable).count());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/" + ids.get(0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.available").value(false));
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/find-by-name").param("name", "product-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        JsonNode again = bulk(MockMvcRequestBuilders.post("/product/bulk/delete"), objectMapper.writeValueAsString(new IdsBody(ids)));
+        Assertions.assertEquals(0, again.path("updated").asLong());
+        Assertions.assertEquals(21, again.path("skipped").asLong());
+    }
+
+    @Test
+    void filterCombinesCategoryNamePrefixAndPriceRange() throws Exception {
+        for (int i = 0; i < 15; i++) {
+            saveProduct("sale_" + i, 5.0 + i, category);
+        }
+        saveProduct("saleX", 10.0, category);
+        saveProduct("sale_other", 10.0, otherCategory);
+
+        JsonNode report = bulk(MockMvcRequestBuilders.put("/product/bulk/availability").param("available", "false"),
+                "{\"idCategory\":\"" + category.getId() + "\",\"namePrefix\":\"sale_\",\"minPrice\":6.0,\"maxPrice\":17.0}");
+
+        Assertions.assertEquals(12, report.path("updated").asLong());
+        Assertions.assertTrue(productRepository.findByName("saleX").getAvailable());
+        Assertions.assertTrue(productRepository.findByName("sale_other").getAvailable());
+        Assertions.assertNotNull(productRepository.findByName("sale_0"));
+        Assertions.assertNull(productRepository.findByName("sale_1"));
+
+        JsonNode restored = bulk(MockMvcRequestBuilders.put("/product/bulk/availability").param("available", "true"),
+                "{\"idCategory\":\"" + category.getId() + "\",\"namePrefix\":\"sale_\"}");
+        Assertions.assertEquals(12, restored.path("updated").asLong());
+        Assertions.assertNotNull(productRepository.findByName("sale_1"));
+        Product product = productRepository.findByName("sale_1");
+        Assertions.assertEquals(2, product.getVersion());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/changes"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(24))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].operation").value("DELETED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[12].operation").value("UPDATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[12].payload.available").value(true));
+    }
+
+    @Test
+    void selectionMustBeIdsOrFilter() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/product/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post("/product/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + UUID.randomUUID() + "\"],\"namePrefix\":\"a\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private JsonNode bulk(MockHttpServletRequestBuilder request, String body) throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name).description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+    }
+
+    private Product saveProduct(String name, double price, Category category) {
+        return productRepository.save(Product.builder()
+                .name(name).description("description").price(price).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+
+    private record IdsBody(List<UUID> ids) {
+    }
+}
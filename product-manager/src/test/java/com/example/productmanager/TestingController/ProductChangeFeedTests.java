@@ -0,0 +1,236 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.changes.ProductChangeBroadcaster;
+import com.example.productmanager.changes.ProductChangeLog;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.model.ProductChange;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives product writes through the API against H2 and reads them back from the change feed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-changes;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductChangeFeedTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    @Autowired
+    private ProductChangeLog changeLog;
+    @Autowired
+    private ProductChangeBroadcaster broadcaster;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        changeRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+    }
+
+    @Test
+    void writesAppearInOrderAndTheNextTokenResumes() throws Exception {
+        String id = addProduct("product").path("id").asText();
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + id)
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson("renamed")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/product/delete/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        JsonNode feed = changes("");
+        Assertions.assertEquals(3, feed.path("changes").size());
+        Assertions.assertEquals("CREATED", feed.path("changes").get(0).path("operation").asText());
+        Assertions.assertEquals("renamed", feed.path("changes").get(1).path("payload").path("name").asText());
+        Assertions.assertEquals("DELETED", feed.path("changes").get(2).path("operation").asText());
+        Assertions.assertEquals(category.getId().toString(),
+                feed.path("changes").get(0).path("payload").path("idCategory").asText());
+
+        String next = feed.path("next").asText();
+        JsonNode empty = changes(next);
+        Assertions.assertEquals(0, empty.path("changes").size());
+        Assertions.assertEquals(next, empty.path("next").asText());
+    }
+
+    @Test
+    void rejectedWriteAppendsNoChange() throws Exception {
+        addProduct("product");
+        mockMvc.perform(MockMvcRequestBuilders.post("/product/add")
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson("product")))
+                .andExpect(MockMvcResultMatchers.status().is4xxClientError());
+
+        Assertions.assertEquals(1, changes("").path("changes").size());
+    }
+
+    @Test
+    void compactionKeepsTheLatestChangeOfEachEntity() throws Exception {
+        String id = addProduct("first").path("id").asText();
+        addProduct("second");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + id)
+                            .contentType(MediaType.APPLICATION_JSON).content(productJson("first-" + i)))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        changeLog.compact();
+
+        JsonNode feed = changes("");
+        Assertions.assertEquals(2, feed.path("changes").size());
+        Assertions.assertEquals("first-2", feed.path("changes").get(1).path("payload").path("name").asText());
+    }
+
+    @Test
+    void streamDeliversChangesAfterTheToken() throws Exception {
+        addProduct("before");
+        String since = changes("").path("next").asText();
+        MvcResult stream = mockMvc.perform(MockMvcRequestBuilders.get("/product/changes/stream").param("since", since))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        addProduct("after");
+
+        broadcaster.poll();
+
+        // The events are sent by a task of the subscriber, not by the poll itself.
+        String events = stream.getResponse().getContentAsString();
+        for (int i = 0; i < 100 && !events.contains("\"name\":\"after\""); i++) {
+            Thread.sleep(50);
+            events = stream.getResponse().getContentAsString();
+        }
+        Assertions.assertTrue(events.contains("event:change"), events);
+        Assertions.assertTrue(events.contains("\"name\":\"after\""), events);
+        Assertions.assertFalse(events.contains("\"name\":\"before\""), events);
+    }
+
+    @Test
+    void changesAreHeldBackWhileATransactionWithALowerIdCommits() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("slow").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                changeLog.record(product, ProductChange.Operation.UPDATED);
+                // Registered after the outbox, so it holds the commit back once the change is inserted.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        inserted.countDown();
+                        try {
+                            commit.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }));
+            Assertions.assertTrue(inserted.await(10, TimeUnit.SECONDS));
+            addProduct("fast");
+
+            JsonNode held = changes("");
+            Assertions.assertEquals(0, held.path("changes").size());
+
+            commit.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            JsonNode feed = changes(held.path("next").asText());
+            Assertions.assertEquals(2, feed.path("changes").size());
+            Assertions.assertEquals("slow", feed.path("changes").get(0).path("payload").path("name").asText());
+            Assertions.assertEquals("fast", feed.path("changes").get(1).path("payload").path("name").asText());
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void subscriberFallingBehindIsDisconnectedWithoutHoldingUpThePoll() throws Exception {
+        addProduct("first");
+        addProduct("second");
+        addProduct("third");
+        List<Runnable> sends = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // The sending tasks are never run, standing in for a client that stopped reading.
+        ProductChangeBroadcaster stalled = new ProductChangeBroadcaster(changeLog, meterRegistry, sends::add,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 500, 2);
+        stalled.subscribe(0);
+
+        stalled.poll();
+
+        Assertions.assertTrue(sends.isEmpty());
+        Assertions.assertEquals(0, meterRegistry.get("product.changes.subscribers").gauge().value());
+        Assertions.assertEquals(1, meterRegistry.get("product.changes.subscribers.dropped").counter().count());
+    }
+
+    private JsonNode addProduct(String name) throws Exception {
+        String body = mockMvc.perform(MockMvcRequestBuilders.post("/product/add")
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson(name)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/product/changes").param("since", since))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String productJson(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"price\":10.0,\"available\":true,"
+                + "\"idCategory\":\"" + category.getId() + "\"}";
+    }
+}
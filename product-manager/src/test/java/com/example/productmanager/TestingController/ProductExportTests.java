@@ -0,0 +1,162 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams the NDJSON export against H2, with a flush interval smaller than the export so partial flushes happen.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-export;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.export.flush-every=2",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+    private Category otherCategory;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        category = saveCategory("category");
+        otherCategory = saveCategory("other");
+        saveProduct("first", true, category);
+        saveProduct("second", true, category);
+        saveProduct("hidden", false, category);
+        saveProduct("elsewhere", true, otherCategory);
+    }
+
+    @Test
+    void exportsEveryProductAsOneJsonObjectPerLine() throws Exception {
+        MvcResult result = export(MockMvcRequestBuilders.get("/product/export"));
+
+        Assertions.assertEquals("application/x-ndjson", result.getResponse().getContentType());
+        Assertions.assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(body.endsWith("\n"));
+        List<JsonNode> rows = parse(body);
+        Assertions.assertEquals(Set.of("first", "second", "hidden", "elsewhere"), names(rows));
+        JsonNode first = rows.stream().filter(row -> row.get("name").asText().equals("first")).findFirst().orElseThrow();
+        Assertions.assertEquals(category.getId().toString(), first.get("idCategory").asText());
+        Assertions.assertEquals("category", first.get("categoryName").asText());
+        Assertions.assertEquals(12.5, first.get("price").asDouble());
+    }
+
+    @Test
+    void filtersByCategoryAndAvailability() throws Exception {
+        String byCategory = export(MockMvcRequestBuilders.get("/product/export")
+                .param("categoryId", category.getId().toString()))
+                .getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertEquals(Set.of("first", "second", "hidden"), names(parse(byCategory)));
+
+        String available = export(MockMvcRequestBuilders.get("/product/export")
+                .param("categoryId", category.getId().toString()).param("available", "true"))
+                .getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertEquals(Set.of("first", "second"), names(parse(available)));
+
+        String unavailable = export(MockMvcRequestBuilders.get("/product/export").param("available", "false"))
+                .getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertEquals(Set.of("hidden"), names(parse(unavailable)));
+    }
+
+    @Test
+    void gzipBodyDecompressesToTheSameExport() throws Exception {
+        String plain = export(MockMvcRequestBuilders.get("/product/export"))
+                .getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        MvcResult result = export(MockMvcRequestBuilders.get("/product/export").param("gzip", "true"));
+
+        Assertions.assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("products.ndjson.gz"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            Assertions.assertEquals(plain, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void emptyExportHasAnEmptyBody() throws Exception {
+        productRepository.deleteAll();
+
+        MvcResult result = export(MockMvcRequestBuilders.get("/product/export"));
+
+        Assertions.assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+    }
+
+    private List<JsonNode> parse(String body) throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static Set<String> names(List<JsonNode> rows) {
+        return rows.stream().map(row -> row.get("name").asText()).collect(Collectors.toSet());
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name).description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+    }
+
+    private void saveProduct(String name, boolean available, Category category) {
+        productRepository.save(Product.builder()
+                .name(name).description("description").price(12.5).available(available)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Imports JSON, NDJSON and CSV bodies against H2, including rows that cannot be parsed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-import;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.import.chunk-size=2",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeRepository changeRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        changeRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        productRepository.save(Product.builder()
+                .name("existing").description("description").price(1.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+
+    @Test
+    void jsonArrayImportsValidRowsAndRejectsTheOthers() throws Exception {
+        String body = "[" + json("first", "10.5", category.getId())
+                + "," + json("first", "11", category.getId())
+                + "," + json("existing", "12", category.getId())
+                + "," + json("negative", "-1", category.getId())
+                + "," + json("unknown-category", "13", UUID.randomUUID())
+                + "," + json("second", "14", category.getId()) + "]";
+
+        JsonNode report = importBody("application/json", body);
+
+        Assertions.assertEquals(6, report.get("total").asInt());
+        Assertions.assertEquals(2, report.get("imported").asInt());
+        Assertions.assertEquals(4, report.get("rejected").asInt());
+        assertRow(report, 1, "IMPORTED", null);
+        assertRow(report, 2, "REJECTED", "Duplicate product name in import");
+        assertRow(report, 3, "REJECTED", "Product name already exists");
+        assertRow(report, 4, "REJECTED", "Invalid price");
+        assertRow(report, 5, "REJECTED", "Invalid categoryId");
+        assertRow(report, 6, "IMPORTED", null);
+        Assertions.assertNotNull(productRepository.findByName("first"));
+        Assertions.assertNotNull(productRepository.findByName("second"));
+        Assertions.assertEquals(3, productRepository.count());
+    }
+
+    @Test
+    void ndjsonRowThatDoesNotMapIsRejectedAndTheNextRowsAreImported() throws Exception {
+        String body = json("first", "10", category.getId()) + "\n"
+                + "{\"name\":\"bad-price\",\"price\":\"abc\",\"idCategory\":\"" + category.getId() + "\"}\n"
+                + "{\"name\":\"bad-category\",\"price\":1,\"idCategory\":\"not-a-uuid\"}\n"
+                + json("second", "20", category.getId()) + "\n";
+
+        JsonNode report = importBody("application/x-ndjson", body);
+
+        Assertions.assertEquals(4, report.get("total").asInt());
+        Assertions.assertEquals(2, report.get("imported").asInt());
+        assertRow(report, 1, "IMPORTED", null);
+        assertRow(report, 2, "REJECTED", "Malformed row");
+        assertRow(report, 3, "REJECTED", "Malformed row");
+        assertRow(report, 4, "IMPORTED", null);
+        Assertions.assertNotNull(productRepository.findByName("second"));
+    }
+
+    @Test
+    void malformedJsonStopsTheImportAtThatRow() throws Exception {
+        String body = json("first", "10", category.getId()) + "\n"
+                + "{\"name\":\"broken\",,\"price\":1}\n"
+                + json("never-read", "20", category.getId()) + "\n";
+
+        JsonNode report = importBody("application/x-ndjson", body);
+
+        Assertions.assertEquals(2, report.get("total").asInt());
+        Assertions.assertEquals(1, report.get("imported").asInt());
+        assertRow(report, 1, "IMPORTED", null);
+        assertRow(report, 2, "REJECTED", "Malformed row");
+        Assertions.assertNotNull(productRepository.findByName("first"));
+        Assertions.assertNull(productRepository.findByName("never-read"));
+    }
+
+    @Test
+    void csvRowThatDoesNotMapIsRejectedWithItsName() throws Exception {
+        String body = "name,description,price,available,idCategory\n"
+                + "\"comma, in name\",\"says \"\"hi\"\"\",10,true," + category.getId() + "\n"
+                + "\n"
+                + "bad-price,description,abc,true," + category.getId() + "\n"
+                + "cheap,description,1,false," + category.getId() + "\n";
+
+        JsonNode report = importBody("text/csv", body);
+
+        Assertions.assertEquals(3, report.get("total").asInt());
+        Assertions.assertEquals(2, report.get("imported").asInt());
+        assertRow(report, 1, "IMPORTED", null);
+        assertRow(report, 2, "REJECTED", "Malformed row");
+        Assertions.assertEquals("bad-price", report.get("rows").get(1).get("name").asText());
+        assertRow(report, 3, "IMPORTED", null);
+        Product quoted = productRepository.findByName("comma, in name");
+        Assertions.assertEquals("says \"hi\"", quoted.getDescription());
+        // Unavailable products are not found by name.
+        Assertions.assertNull(productRepository.findByName("cheap"));
+        Assertions.assertEquals(3, productRepository.count());
+    }
+
+    private JsonNode importBody(String contentType, String body) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/product/import")
+                        .contentType(contentType).content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static void assertRow(JsonNode report, int row, String status, String message) {
+        JsonNode result = report.get("rows").get(row - 1);
+        Assertions.assertEquals(row, result.get("row").asInt());
+        Assertions.assertEquals(status, result.get("status").asText());
+        if (message != null) {
+            Assertions.assertTrue(result.get("message").asText().startsWith(message), result.get("message").asText());
+        }
+    }
+
+    private static String json(String name, String price, UUID idCategory) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"price\":" + price
+                + ",\"idCategory\":\"" + idCategory + "\"}";
+    }
+}
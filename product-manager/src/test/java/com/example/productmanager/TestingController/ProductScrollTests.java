@@ -0,0 +1,112 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Walks the keyset-paginated price listing against H2, with many products sharing a price across page boundaries.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-scroll;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductScrollTests {
+    private static final double[] PRICES = {30.0, 20.0, 20.0, 20.0, 20.0, 20.0, 10.0, 10.0, 10.0, 5.0, 5.0};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final Set<String> expected = new HashSet<>();
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        expected.clear();
+        Category category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        for (int i = 0; i < PRICES.length; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("product-" + i).description("description").price(PRICES[i]).available(true)
+                    .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+            expected.add(product.getId().toString());
+        }
+        productRepository.save(Product.builder()
+                .name("unavailable").description("description").price(20.0).available(false)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+    }
+
+    @Test
+    void pagesThroughPriceTiesWithoutSkipsOrRepeats() throws Exception {
+        for (int size = 1; size <= 4; size++) {
+            List<String> ids = new ArrayList<>();
+            List<Double> prices = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/product/sort-by-price/scroll")
+                        .param("size", String.valueOf(size));
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+                for (JsonNode product : page.get("content")) {
+                    ids.add(product.get("id").asText());
+                    prices.add(product.get("price").asDouble());
+                }
+                cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+                pages++;
+            } while (cursor != null && pages <= PRICES.length);
+
+            Assertions.assertEquals(PRICES.length, ids.size(), "page size " + size);
+            Assertions.assertEquals(expected, new HashSet<>(ids), "page size " + size);
+            for (int i = 1; i < prices.size(); i++) {
+                Assertions.assertTrue(prices.get(i - 1) >= prices.get(i), "page size " + size);
+            }
+        }
+    }
+
+    @Test
+    void tamperedOrEmptyCursorIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/sort-by-price/scroll").param("cursor", "garbage"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/product/sort-by-price/scroll").param("cursor", ""))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
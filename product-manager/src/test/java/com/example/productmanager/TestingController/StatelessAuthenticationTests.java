@@ -0,0 +1,126 @@
+package com.example.productmanager.TestingController;
+
+import com.example.productmanager.cache.TokenDenylist;
+import com.example.productmanager.cache.TokenDenylistSeeder;
+import com.example.productmanager.model.User;
+import com.example.productmanager.repository.UserRepository;
+import com.example.productmanager.untils.JwtUntil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+/**
+ * Bearer-token authentication in the stateless mode against H2: a valid token is accepted without a single SQL
+ * statement, and tokens revoked by id or by version are rejected. Metrics export is enabled so the Prometheus
+ * endpoint exists and its protection can be checked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stateless-authentication;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.jwt.verification=stateless",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class StatelessAuthenticationTests {
+    private static final String URL = "/product/autocomplete?prefix=key";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUntil jwtUntil;
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    @Autowired
+    private TokenDenylistSeeder tokenDenylistSeeder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void validTokenAuthenticatesWithoutSql() throws Exception {
+        String token = token("stateless@example.com", 0);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        perform(token, MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void requestWithoutTokenIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+    @Test
+    void prometheusEndpointRequiresAToken() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token("scraper@example.com", 0)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void revokedTokenIdIsRejected() throws Exception {
+        String revoked = token("revoked-id@example.com", 0);
+        String other = token("revoked-id@example.com", 0);
+        tokenDenylist.revokeToken(jwtUntil.extractAllClaim(revoked).getId(),
+                System.currentTimeMillis() + JwtUntil.EXPIRATION_MILLIS);
+
+        perform(revoked, MockMvcResultMatchers.status().isForbidden());
+        perform(other, MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void olderTokenVersionIsRejected() throws Exception {
+        tokenDenylist.revokeVersionsBelow("revoked-version@example.com", 2,
+                System.currentTimeMillis() + JwtUntil.EXPIRATION_MILLIS);
+
+        perform(token("revoked-version@example.com", 1), MockMvcResultMatchers.status().isForbidden());
+        perform(token("revoked-version@example.com", 2), MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void versionRevokedOnAnotherInstanceIsRejectedAfterTheRefresh() throws Exception {
+        String token = token("other-instance@example.com", 0);
+        perform(token, MockMvcResultMatchers.status().isOk());
+        // Another instance revoked every session of the user and only wrote the new version.
+        userRepository.save(User.builder().name("other").email("other-instance@example.com")
+                .password("password").tokenVersion(1).build());
+
+        tokenDenylistSeeder.refresh();
+
+        perform(token, MockMvcResultMatchers.status().isForbidden());
+        perform(token("other-instance@example.com", 1), MockMvcResultMatchers.status().isOk());
+    }
+
+    private String token(String email, long version) {
+        return jwtUntil.generateToken(email, List.of(new SimpleGrantedAuthority("ROLE_USER")), version);
+    }
+
+    private void perform(String token, ResultMatcher status) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header("Authorization", "Bearer " + token))
+                .andExpect(status);
+    }
+}
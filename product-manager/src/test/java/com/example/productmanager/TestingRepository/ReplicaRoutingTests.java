@@ -0,0 +1,218 @@
+package com.example.productmanager.TestingRepository;
+
+import com.example.productmanager.config.ReplicaRoutingConfig;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductChangeRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+/**
+ * Routes reads between two H2 databases standing in for the SQL Server primary and a replica.
+ * The replica is a copy of the primary whose product names are changed, so each read tells which database served it;
+ * the replica is reached over H2's TCP server, which the tests stop to take the replica down.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-primary;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.connection-timeout=2s",
+        "datasource.replicas.read-your-writes-window=1h",
+        "datasource.replicas.health-check-interval=PT1H",
+        "customer.sync.initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+@WithMockUser(username = "writer")
+class ReplicaRoutingTests {
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica-replica;DB_CLOSE_DELAY=-1;MODE=MSSQLServer";
+    private static final JdbcTemplate primaryJdbc = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:replica-primary;DB_CLOSE_DELAY=-1;MODE=MSSQLServer", "sa", ""));
+    private static final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private static Server replicaServer;
+    private static int replicaPort;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    @Autowired
+    private ReplicaRoutingConfig replicaRoutingConfig;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) throws SQLException {
+        // Open the in-memory replica locally first, so the TCP server does not need to create databases.
+        replicaJdbc.execute("SELECT 1");
+        replicaServer = Server.createTcpServer("-tcpPort", "0").start();
+        replicaPort = replicaServer.getPort();
+        // Elements of a list are bound from a single property source, so the whole replica is registered here.
+        registry.add("datasource.replicas.instances[0].url",
+                () -> "jdbc:h2:tcp://localhost:" + replicaPort + "/mem:replica-replica;MODE=MSSQLServer");
+        registry.add("datasource.replicas.instances[0].username", () -> "sa");
+        registry.add("datasource.replicas.instances[0].password", () -> "");
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        replicaServer.stop();
+    }
+
+    @BeforeEach
+    void seed() throws SQLException {
+        if (!replicaServer.isRunning(false)) {
+            replicaServer = Server.createTcpServer("-tcpPort", String.valueOf(replicaPort)).start();
+        }
+        replicaRoutingConfig.checkReplicas();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        changeRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        productRepository.save(Product.builder()
+                .name("product").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+        replicate();
+        replicaJdbc.update("UPDATE product SET name = CONCAT('replica-', name)");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() throws Exception {
+        Assertions.assertEquals(List.of("replica-product"), productNames(user("reader")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/product/add").with(user("editor"))
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson("added")))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        Assertions.assertEquals(2, primaryJdbc.queryForObject("SELECT COUNT(*) FROM product", Integer.class));
+        Assertions.assertEquals(1, replicaJdbc.queryForObject("SELECT COUNT(*) FROM product", Integer.class));
+    }
+
+    @Test
+    void writerReadsTheirOwnWriteFromThePrimary() throws Exception {
+        String id = primaryJdbc.queryForObject("SELECT id FROM product", String.class);
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + id)
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson("renamed")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertEquals(List.of("renamed"), productNames(user("writer")));
+        Assertions.assertEquals(List.of("replica-product"), productNames(user("reader")));
+    }
+
+    @Test
+    void anotherUsersReadDoesNotCacheAnOutdatedProductForTheWriter() throws Exception {
+        String id = primaryJdbc.queryForObject("SELECT id FROM product", String.class);
+        mockMvc.perform(MockMvcRequestBuilders.put("/product/update/" + id)
+                        .contentType(MediaType.APPLICATION_JSON).content(productJson("renamed")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // The reader's cache miss fills the product cache shared with the writer, so it reads the primary.
+        Assertions.assertEquals("renamed", name(MockMvcRequestBuilders.get("/product/" + id).with(user("reader"))));
+        Assertions.assertEquals("renamed", name(MockMvcRequestBuilders.get("/product/" + id).with(user("writer"))));
+        Assertions.assertEquals("renamed", name(MockMvcRequestBuilders.get("/product/find-by-name")
+                .param("name", "renamed").with(user("reader"))));
+    }
+
+    @Test
+    void anotherUsersReplicaReadDoesNotCacheAnOutdatedCategoryForTheWriter() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/category/update/" + category.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"renamed\",\"description\":\"description\",\"active\":true}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        // Stands in for the updated category expiring from the second-level cache.
+        entityManagerFactory.getCache().evictAll();
+
+        Assertions.assertEquals("category", name(MockMvcRequestBuilders.get("/category/" + category.getId())
+                .with(user("reader"))));
+        Assertions.assertEquals("renamed", name(MockMvcRequestBuilders.get("/category/" + category.getId())
+                .with(user("writer"))));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDown() throws Exception {
+        replicaServer.stop();
+        replicaRoutingConfig.checkReplicas();
+
+        Assertions.assertEquals(0, meterRegistry.get("datasource.replicas.healthy").gauge().value());
+        double fallbacks = meterRegistry.get("datasource.replica.fallbacks").counter().count();
+        Assertions.assertEquals(List.of("product"), productNames(user("reader")));
+        Assertions.assertEquals(fallbacks + 1, meterRegistry.get("datasource.replica.fallbacks").counter().count());
+
+        replicaServer = Server.createTcpServer("-tcpPort", String.valueOf(replicaPort)).start();
+        replicaRoutingConfig.checkReplicas();
+
+        Assertions.assertEquals(1, meterRegistry.get("datasource.replicas.healthy").gauge().value());
+        Assertions.assertEquals(List.of("replica-product"), productNames(user("reader")));
+    }
+
+    /**
+     * Stands in for replication: copies the schema and rows of the primary into the replica.
+     */
+    private void replicate() {
+        List<String> script = primaryJdbc.queryForList("SCRIPT", String.class);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        script.forEach(replicaJdbc::execute);
+    }
+
+    private List<String> productNames(RequestPostProcessor user) throws Exception {
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/product/all").with(user))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode content = objectMapper.readTree(body).path("content");
+        return content.findValuesAsText("name");
+    }
+
+    private String name(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("name").asText();
+    }
+
+    private String productJson(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"price\":10.0,\"available\":true,"
+                + "\"idCategory\":\"" + category.getId() + "\"}";
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.productmanager.TestingRepository;
+
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import com.example.productmanager.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.sql.DataSource;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs the hot repository queries against SQL Server seeded with a large dataset, captures the estimated plan
+ * of every statement they issue and fails when a plan reads a large part of a table.
+ * Scans of the filtered indexes are allowed: they only hold the available products or active categories.
+ * The database is a SQL Server container, so the class needs a Docker daemon; without one every test is reported as
+ * skipped rather than failed, and a green build does not mean the plans were checked.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.productmanager.TestingRepository.CapturingStatementInspector",
+        "customer.sync.initial-delay=PT1H"
+})
+class RepositoryQueryPlanTests {
+    private static final int PRODUCTS = 200_000;
+    private static final int CATEGORIES = 1_000;
+    private static final int USERS = 50_000;
+    private static final double MAX_ROWS_READ = 1_000;
+    private static final Set<String> FILTERED_INDEXES = Set.of(
+            "[IX_Product_available_id]", "[IX_Product_available_price]", "[IX_Category_active_id]");
+    private static final Set<String> SCANS = Set.of("Table Scan", "Clustered Index Scan", "Index Scan");
+
+    @Container
+    private static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", SQL_SERVER::getJdbcUrl);
+        registry.add("spring.datasource.username", SQL_SERVER::getUsername);
+        registry.add("spring.datasource.password", SQL_SERVER::getPassword);
+    }
+
+    @BeforeAll
+    void seed() {
+        String numbers = "WITH numbers AS (SELECT TOP (%d) ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) AS n " +
+                "FROM sys.all_objects a CROSS JOIN sys.all_objects b) ";
+        jdbcTemplate.execute(String.format(numbers, CATEGORIES) +
+                "INSERT INTO Category (id, name, description, created_at, active) " +
+                "SELECT NEWID(), CONCAT('category-', n), 'seed', GETDATE(), CASE WHEN n % 10 = 0 THEN 0 ELSE 1 END FROM numbers");
+        jdbcTemplate.execute(String.format(numbers, PRODUCTS) +
+                ", categories AS (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS k FROM Category) " +
+                "INSERT INTO Product (id, name, description, price, created_at, available, category_id) " +
+                "SELECT NEWID(), CONCAT('product-', n), 'seed', n % 5000 + 0.99, SYSDATETIME(), " +
+                "CASE WHEN n % 20 = 0 THEN 0 ELSE 1 END, c.id FROM numbers JOIN categories c ON c.k = n % " + CATEGORIES);
+        jdbcTemplate.execute(String.format(numbers, USERS) +
+                "INSERT INTO users (id, name, email, password, phone) " +
+                "SELECT NEWID(), CONCAT('user-', n), CONCAT('user-', n, '@example.com'), 'seed', '0' FROM numbers");
+        jdbcTemplate.execute("EXEC sp_updatestats");
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void testGetAllProducts() {
+        productRepository.getAllProducts(PageRequest.of(3, 20));
+        assertNoLargeScan();
+    }
+
+    @Test
+    void testSortProductByPriceDesc() {
+        productRepository.getAllProducts(PageRequest.of(3, 20, Sort.by("price").descending()));
+        assertNoLargeScan();
+    }
+
+    @Test
+    void testFindByName() {
+        productRepository.findByName("product-4242");
+        assertNoLargeScan("product-4242");
+    }
+
+    @Test
+    void testScrollProducts() {
+        UUID after = UUID.randomUUID();
+        productRepository.findAvailableAfter(after, PageRequest.of(0, 21));
+        assertNoLargeScan(after);
+    }
+
+    @Test
+    void testScrollProductsByPriceDesc() {
+        UUID after = UUID.randomUUID();
+        productRepository.findAvailableByPriceDescAfter(2500.99, after, PageRequest.of(0, 21));
+        assertNoLargeScan(2500.99, 2500.99, after);
+    }
+
+    @Test
+    void testGetAllCategories() {
+        categoryRepository.getAllCategories(PageRequest.of(3, 20));
+        assertNoLargeScan();
+    }
+
+    @Test
+    void testCategoryExistsByName() {
+        categoryRepository.existsByName("category-42");
+        assertNoLargeScan("category-42");
+    }
+
+    @Test
+    void testScrollCategories() {
+        UUID after = UUID.randomUUID();
+        categoryRepository.findActiveAfter(after, PageRequest.of(0, 21));
+        assertNoLargeScan(after);
+    }
+
+    @Test
+    void testFindFirstByEmail() {
+        userRepository.findFirstByEmail("user-4242@example.com");
+        assertNoLargeScan("user-4242@example.com");
+    }
+
+    /**
+     * Check the plan of every statement issued since the last call.
+     *
+     * @param parameters the query parameters in the order they appear in the SQL; the remaining placeholders
+     *                   are the paging offset and limit
+     */
+    private void assertNoLargeScan(Object... parameters) {
+        List<String> statements = CapturingStatementInspector.drain();
+        Assertions.assertFalse(statements.isEmpty(), "No statement was captured");
+        for (String sql : statements) {
+            String plan = estimatedPlan(inline(sql, parameters));
+            List<String> scans = largeScans(plan);
+            Assertions.assertTrue(scans.isEmpty(), () -> "Large scan in plan of " + sql + ": " + scans);
+        }
+    }
+
+    private String estimatedPlan(String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET SHOWPLAN_XML ON");
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                resultSet.next();
+                return resultSet.getString(1);
+            } finally {
+                statement.execute("SET SHOWPLAN_XML OFF");
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not capture the plan of " + sql, e);
+        }
+    }
+
+    private static List<String> largeScans(String plan) {
+        List<String> scans = new ArrayList<>();
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            NodeList relOps = factory.newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(plan)))
+                    .getElementsByTagName("RelOp");
+            for (int i = 0; i < relOps.getLength(); i++) {
+                Element relOp = (Element) relOps.item(i);
+                String operator = relOp.getAttribute("PhysicalOp");
+                if (!SCANS.contains(operator)) {
+                    continue;
+                }
+                Element object = (Element) relOp.getElementsByTagName("Object").item(0);
+                String index = object == null ? "" : object.getAttribute("Index");
+                String rowsRead = relOp.hasAttribute("EstimatedRowsRead")
+                        ? relOp.getAttribute("EstimatedRowsRead") : relOp.getAttribute("EstimateRows");
+                if (!FILTERED_INDEXES.contains(index) && Double.parseDouble(rowsRead) > MAX_ROWS_READ) {
+                    scans.add(operator + " " + (object == null ? "" : object.getAttribute("Table")) + index
+                            + " reading " + rowsRead + " rows");
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not parse plan", e);
+        }
+        return scans;
+    }
+
+    /**
+     * Replace the JDBC placeholders with literals, because SHOWPLAN does not execute prepared statements.
+     */
+    private static String inline(String sql, Object... parameters) {
+        StringBuilder inlined = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                inlined.append(c);
+                continue;
+            }
+            Object value = next < parameters.length ? parameters[next++] : 20;
+            inlined.append(value instanceof Number
+                    ? value.toString()
+                    : "'" + value.toString().replace("'", "''") + "'");
+        }
+        return inlined.toString();
+    }
+}
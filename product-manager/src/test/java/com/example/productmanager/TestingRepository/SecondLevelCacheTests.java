@@ -0,0 +1,97 @@
+package com.example.productmanager.TestingRepository;
+
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.repository.CategoryRepository;
+import com.example.productmanager.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Runs the cached lookups twice against H2 and checks that the second call is answered
+ * by the second-level or query cache without any SQL, and that a write invalidates the cached queries.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1;MODE=MSSQLServer",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "customer.sync.initial-delay=PT1H"
+})
+class SecondLevelCacheTests {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        category = categoryRepository.save(Category.builder()
+                .name("category").description("description").active(true)
+                .createdAt(new Date()).updatedAt(new Date()).build());
+        product = productRepository.save(Product.builder()
+                .name("product").description("description").price(10.0).available(true)
+                .createdAt(new Date()).updatedAt(new Date()).category(category).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void categoryByIdIsServedFromSecondLevelCache() {
+        Assertions.assertEquals(1, statements(() -> categoryRepository.findById(category.getId())));
+        Assertions.assertEquals(0, statements(() -> categoryRepository.findById(category.getId())));
+        Assertions.assertTrue(statistics.getDomainDataRegionStatistics(Category.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void categoryPageIsServedFromQueryCache() {
+        Assertions.assertEquals(1, statements(() -> categoryRepository.getAllCategories(PageRequest.of(0, 5))));
+        Assertions.assertEquals(0, statements(() -> categoryRepository.getAllCategories(PageRequest.of(0, 5))));
+        Assertions.assertTrue(statistics.getQueryRegionStatistics(Category.QUERY_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void productByNameIsServedFromQueryCache() {
+        Assertions.assertEquals(1, statements(() -> productRepository.findByName(product.getName())));
+        Product cached = productRepository.findByName(product.getName());
+        Assertions.assertEquals(0, statements(() -> productRepository.findByName(product.getName())));
+        Assertions.assertEquals(category.getName(), cached.getCategory().getName());
+    }
+
+    @Test
+    void writeInvalidatesCachedQueries() {
+        categoryRepository.getAllCategories(PageRequest.of(0, 5));
+        category.setDescription("changed");
+        categoryRepository.save(category);
+        Assertions.assertEquals(1, statements(() -> categoryRepository.getAllCategories(PageRequest.of(0, 5))));
+        Assertions.assertEquals("changed", categoryRepository.getAllCategories(PageRequest.of(0, 5))
+                .getContent().get(0).getDescription());
+    }
+
+    private long statements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.productmanager.TestingSearch;
+
+import com.example.productmanager.dto.ProductSearchHit;
+import com.example.productmanager.dto.SearchPage;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.search.ProductSearchIndex;
+import com.example.productmanager.service.impl.ProductSearchServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        keyboard = Product.builder().id(UUID.randomUUID()).name("Mechanical Keyboard").description("Bàn phím cơ").price(120.0).available(true).build();
+        mouse = Product.builder().id(UUID.randomUUID()).name("Wireless Mouse").description("Works with any keyboard").price(25.0).available(true).build();
+        index.index(keyboard);
+        index.index(mouse);
+    }
+
+    @Test
+    void testSearch_NameMatchRanksAboveDescriptionMatch() {
+        List<ProductSearchHit> hits = index.search("keyboard");
+
+        Assertions.assertEquals(2, hits.size());
+        Assertions.assertEquals(keyboard.getId(), hits.get(0).getId());
+        Assertions.assertEquals(mouse.getId(), hits.get(1).getId());
+    }
+
+    @Test
+    void testSearch_PrefixAndTypo() {
+        Assertions.assertEquals(mouse.getId(), index.search("wirel").get(0).getId());
+        Assertions.assertEquals(keyboard.getId(), index.search("mechanicl").get(0).getId());
+    }
+
+    @Test
+    void testSearch_IgnoresDiacritics() {
+        Assertions.assertEquals(keyboard.getId(), index.search("ban phim").get(0).getId());
+    }
+
+    @Test
+    void testAutocomplete() {
+        Assertions.assertEquals(List.of("Mechanical Keyboard"), index.autocomplete("mech", 10));
+    }
+
+    @Test
+    void testUnavailableProductIsRemoved() {
+        keyboard.setAvailable(false);
+        index.index(keyboard);
+
+        Assertions.assertTrue(index.search("mechanical").isEmpty());
+        Assertions.assertEquals(1, index.size());
+
+        index.remove(mouse.getId());
+        Assertions.assertTrue(index.search("keyboard").isEmpty());
+    }
+
+    @Test
+    void testSearch_PageFarBeyondTheHitsIsEmpty() {
+        ProductSearchServiceImpl service = new ProductSearchServiceImpl(index);
+
+        Assertions.assertEquals(1, service.search("keyboard", 1, 1).getBody().getContent().size());
+        ResponseEntity<SearchPage> beyond = service.search("keyboard", Integer.MAX_VALUE, 100);
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, beyond.getStatusCode());
+        Assertions.assertTrue(beyond.getBody().getContent().isEmpty());
+    }
+
+    @Test
+    void testSearch_PagesOfTheHeapMatchTheFullRanking() {
+        for (int i = 0; i < 50; i++) {
+            index.index(Product.builder().id(UUID.randomUUID()).name("Keyboard " + i)
+                    .description(i % 3 == 0 ? "keyboard keyboard" : "cable").price(10.0 + i).available(true).build());
+        }
+        List<ProductSearchHit> all = index.search("keyboard");
+
+        List<ProductSearchHit> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 7) {
+            ProductSearchIndex.SearchResult page = index.search("keyboard", offset, 7);
+            Assertions.assertEquals(all.size(), page.total());
+            paged.addAll(page.hits());
+        }
+
+        Assertions.assertEquals(52, all.size());
+        Assertions.assertEquals(all.stream().map(ProductSearchHit::getId).toList(),
+                paged.stream().map(ProductSearchHit::getId).toList());
+        Assertions.assertTrue(index.search("keyboard", 60, 7).hits().isEmpty());
+    }
+
+    @Test
+    void testAutocomplete_StopsAtTheLimitAndMatchesEveryTerm() {
+        index.index(Product.builder().id(UUID.randomUUID()).name("Mechanical Pencil").description("keyboard")
+                .price(2.0).available(true).build());
+        index.index(Product.builder().id(UUID.randomUUID()).name("Mechanic Gloves").description("")
+                .price(8.0).available(true).build());
+
+        Assertions.assertEquals(2, index.autocomplete("mech", 2).size());
+        Assertions.assertEquals(3, index.autocomplete("mech", 10).size());
+        Assertions.assertEquals(List.of("Mechanical Keyboard"), index.autocomplete("mechanical key", 10));
+        // Description words are searchable but never suggest a name.
+        Assertions.assertEquals(List.of("Mechanical Keyboard"), index.autocomplete("keyb", 10));
+    }
+}
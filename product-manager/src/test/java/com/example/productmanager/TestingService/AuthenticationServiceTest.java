@@ -1,10 +1,18 @@
 package com.example.productmanager.TestingService;
 
+import com.example.productmanager.cache.TokenCache;
+import com.example.productmanager.cache.TokenDenylist;
+import com.example.productmanager.cache.TokenDenylistSeeder;
 import com.example.productmanager.dto.AuthenticationResponse;
 import com.example.productmanager.dto.UserDTO;
+import com.example.productmanager.dto.UserTokenVersion;
+import com.example.productmanager.repository.UserRepository;
 import com.example.productmanager.service.AuthenticationService;
 import com.example.productmanager.service.impl.AuthenticationServiceImpl;
 import com.example.productmanager.untils.JwtUntil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -22,6 +30,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -37,6 +47,15 @@ class AuthenticationServiceTest {
     @Mock
     private JwtUntil jwtUtil;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
+    @Mock
+    private TokenCache tokenCache;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -51,19 +70,22 @@ class AuthenticationServiceTest {
         authenticationManager = Mockito.mock(AuthenticationManager.class);
         userDetailsService = Mockito.mock(UserDetailsService.class);
         jwtUtil = Mockito.mock(JwtUntil.class);
+        userRepository = Mockito.mock(UserRepository.class);
         response = Mockito.mock(HttpServletResponse.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
         when(userDetailsService.loadUserByUsername(userDTO.getEmail())).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails.getUsername())).thenReturn("jwt-token");
+        when(userRepository.findTokenVersionByEmail(userDTO.getEmail())).thenReturn(3L);
+        when(jwtUtil.generateToken(userDetails.getUsername(), userDetails.getAuthorities(), 3L)).thenReturn("jwt-token");
 
-        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil);
+        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil,
+                userRepository, tokenDenylist, tokenCache);
         // Act
         ResponseEntity<AuthenticationResponse> responseEntity = authenticationService.createAuthenticationToken(userDTO, response);
 
         // Assert
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userDetailsService).loadUserByUsername(userDTO.getEmail());
-        verify(jwtUtil).generateToken(userDetails.getUsername());
+        verify(jwtUtil).generateToken(userDetails.getUsername(), userDetails.getAuthorities(), 3L);
         Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         Assertions.assertEquals("jwt-token", responseEntity.getBody().getJwt());
     }
@@ -75,9 +97,11 @@ class AuthenticationServiceTest {
         authenticationManager = Mockito.mock(AuthenticationManager.class);
         userDetailsService = Mockito.mock(UserDetailsService.class);
         jwtUtil = Mockito.mock(JwtUntil.class);
+        userRepository = Mockito.mock(UserRepository.class);
         response = Mockito.mock(HttpServletResponse.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(new BadCredentialsException("Incorrect User name or password"));
-        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil);
+        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil,
+                userRepository, tokenDenylist, tokenCache);
 
         // Act & Assert
         Assertions.assertThrows(BadCredentialsException.class, () -> authenticationService.createAuthenticationToken(userDTO, response));
@@ -93,9 +117,11 @@ class AuthenticationServiceTest {
         authenticationManager = Mockito.mock(AuthenticationManager.class);
         userDetailsService = Mockito.mock(UserDetailsService.class);
         jwtUtil = Mockito.mock(JwtUntil.class);
+        userRepository = Mockito.mock(UserRepository.class);
         response = Mockito.mock(HttpServletResponse.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(new DisabledException("User is not created"));
-        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil);
+        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil,
+                userRepository, tokenDenylist, tokenCache);
 
         // Act
         ResponseEntity<AuthenticationResponse> responseEntity = authenticationService.createAuthenticationToken(userDTO, response);
@@ -105,4 +131,41 @@ class AuthenticationServiceTest {
         verify(response).sendError(HttpServletResponse.SC_NOT_FOUND, "User is not created");
         Assertions.assertNull(responseEntity);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRevokeToken_AllSessions_RevokesEarlierVersions() {
+        Claims claims = new DefaultClaims();
+        claims.setSubject("example@example.com");
+        claims.setId("token-id");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        jwtUtil = Mockito.mock(JwtUntil.class);
+        userRepository = Mockito.mock(UserRepository.class);
+        tokenDenylist = Mockito.mock(TokenDenylist.class);
+        tokenCache = Mockito.mock(TokenCache.class);
+        when(jwtUtil.extractAllClaim("jwt-token")).thenReturn(claims);
+        when(userRepository.findTokenVersionByEmail("example@example.com")).thenReturn(4L);
+        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtUtil,
+                userRepository, tokenDenylist, tokenCache);
+
+        ResponseEntity<String> responseEntity = authenticationService.revokeToken("jwt-token", true);
+
+        verify(userRepository).incrementTokenVersion("example@example.com");
+        verify(tokenDenylist).revokeVersionsBelow(eq("example@example.com"), eq(4L), anyLong());
+        verify(tokenCache).clear();
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void testRevokedVersionsAreRestoredAtStartup() {
+        userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findRevokedTokenVersions())
+                .thenReturn(List.of(new UserTokenVersion("example@example.com", 4L)));
+        TokenDenylist restarted = new TokenDenylist(new SimpleMeterRegistry());
+
+        new TokenDenylistSeeder(restarted, userRepository).afterSingletonsInstantiated();
+
+        Assertions.assertTrue(restarted.isRevoked("old-token", "example@example.com", 3L));
+        Assertions.assertFalse(restarted.isRevoked("new-token", "example@example.com", 4L));
+        Assertions.assertFalse(restarted.isRevoked("other-token", "other@example.com", 0L));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.productmanager.TestingService;
 
 
+import com.example.productmanager.changes.ProductChangeLog;
 import com.example.productmanager.dto.CategoryDTO;
 import com.example.productmanager.exception.CategoryExistException;
 import com.example.productmanager.exception.CategoryNotFoundException;
@@ -31,6 +32,8 @@ class CategoryServiceTests {
 
     @MockBean
     private CategoryRepository categoryRepository;
+    @MockBean
+    private ProductChangeLog productChangeLog;
 
 
     @Test
@@ -78,6 +81,7 @@ class CategoryServiceTests {
 
 
         Mockito.when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        Mockito.when(categoryRepository.save(category)).thenAnswer(invocation -> invocation.getArgument(0));
 
         ResponseEntity<Category> response = categoryService.updateCategory(categoryId, categoryDTO);
 
@@ -0,0 +1,65 @@
+package com.example.productmanager.TestingService;
+
+import com.example.productmanager.exception.PasswordHashingBusyException;
+import com.example.productmanager.security.OffloadedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+class OffloadedPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OffloadedPasswordEncoder encoder;
+
+    @AfterEach
+    void shutdown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodesAndMatchesOnTheHashingPool() {
+        encoder = encoder(4, 1, 4);
+
+        String encoded = encoder.encode("secret");
+
+        Assertions.assertTrue(encoder.matches("secret", encoded));
+        Assertions.assertFalse(encoder.matches("other", encoded));
+        Assertions.assertEquals(3, meterRegistry.get("password.hash").tag("operation", "matches").timer().count()
+                + meterRegistry.get("password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void upgradesHashesStoredWithAnotherCost() {
+        encoder = encoder(5, 1, 4);
+
+        Assertions.assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        Assertions.assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        Assertions.assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        encoder = encoder(13, 1, 1);
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        while (meterRegistry.get("password.hash.active").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        while (meterRegistry.get("password.hash.queue.size").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("rejected"));
+        Assertions.assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+    }
+
+    private OffloadedPasswordEncoder encoder(int strength, int threads, int queueCapacity) {
+        return new OffloadedPasswordEncoder(meterRegistry, strength, Duration.ofMillis(250), 4, 14,
+                threads, queueCapacity);
+    }
+}
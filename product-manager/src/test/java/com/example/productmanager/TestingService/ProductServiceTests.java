@@ -1,6 +1,8 @@
 package com.example.productmanager.TestingService;
 
+import com.example.productmanager.changes.ProductChangeLog;
 import com.example.productmanager.dto.ProductDTO;
+import com.example.productmanager.dto.ProductSummary;
 import com.example.productmanager.exception.CategoryNotFoundException;
 import com.example.productmanager.exception.ExistProductNameException;
 import com.example.productmanager.exception.ProductNotFoundException;
@@ -35,6 +37,8 @@ class ProductServiceTests {
     ProductRepository productRepository;
     @MockBean
     CategoryRepository categoryRepository;
+    @MockBean
+    ProductChangeLog productChangeLog;
 
     @Autowired
     ProductServiceImpl productService;
@@ -46,15 +50,16 @@ class ProductServiceTests {
     void paginationProductsTest() {
         int pageNumber = 0;
         int pageSize = 5;
-        List<Product> productList = new ArrayList<>();
+        List<ProductSummary> productList = new ArrayList<>();
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        productList.add(Product.builder().name("Product 1").description("Description 1").price(100.0).build());
+        productList.add(new ProductSummary(UUID.randomUUID(), "Product 1", "Description 1", 100.0, null, null,
+                true, UUID.randomUUID(), "Category 1"));
 
-        Page<Product> productPage = new PageImpl<>(productList, pageable, productList.size());
+        Page<ProductSummary> productPage = new PageImpl<>(productList, pageable, productList.size());
 
         Mockito.when(productRepository.getAllProducts(pageable)).thenReturn(productPage);
 
-        ResponseEntity<Page<Product>> response = productService.paginationProducts(pageNumber, pageSize);
+        ResponseEntity<Page<ProductSummary>> response = productService.paginationProducts(pageNumber, pageSize);
 
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(productPage, response.getBody());
@@ -66,13 +71,13 @@ class ProductServiceTests {
     void paginationProductsTest_ReturnNotFound() {
         int pageNumber = 0;
         int pageSize = 5;
-        List<Product> listEmpty = new ArrayList<>();
+        List<ProductSummary> listEmpty = new ArrayList<>();
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Page<Product> pageEmpty = new PageImpl<>(listEmpty, pageable, listEmpty.size());
+        Page<ProductSummary> pageEmpty = new PageImpl<>(listEmpty, pageable, listEmpty.size());
 
         Mockito.when(productRepository.getAllProducts(pageable)).thenReturn(pageEmpty);
 
-        ResponseEntity<Page<Product>> response = productService.paginationProducts(pageNumber, pageSize);
+        ResponseEntity<Page<ProductSummary>> response = productService.paginationProducts(pageNumber, pageSize);
 
         Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         Assertions.assertEquals(pageEmpty, response.getBody());
@@ -83,22 +88,19 @@ class ProductServiceTests {
     @Test
     void addProductTest() {
         ProductDTO productDTO = ProductDTO.builder()
-                .idProduct(UUID.randomUUID())
                 .name("name")
                 .description("description")
                 .idCategory(UUID.randomUUID()).build();
 
         Product product = Product.builder()
-                .id(productDTO.getIdProduct())
                 .name(productDTO.getName())
                 .description(productDTO.getDescription())
+                .createdAt(productDTO.getCreatedAt())
                 .category(Category.builder().id(productDTO.getIdCategory()).build())
                 .build();
 
 
-        Mockito.when(productRepository.existsByName(productDTO.getName())).thenReturn(false);
-        Mockito.when(categoryRepository.existsById(product.getCategory().getId())).thenReturn(true);
-        Mockito.when(productRepository.save(product)).thenReturn(product);
+        Mockito.when(productRepository.insert(product)).thenAnswer(invocation -> invocation.getArgument(0));
 
         ResponseEntity<Product> response = productService.addProduct(productDTO);
 
@@ -106,29 +108,20 @@ class ProductServiceTests {
         Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
         Assertions.assertEquals(product, response.getBody());
 
-        Mockito.verify(productRepository, Mockito.times(1)).existsByName(productDTO.getName());
-        Mockito.verify(categoryRepository, Mockito.times(1)).existsById(product.getCategory().getId());
-        Mockito.verify(productRepository, Mockito.times(1)).save(product);
+        Mockito.verify(productRepository, Mockito.never()).existsByName(productDTO.getName());
+        Mockito.verify(categoryRepository, Mockito.never()).existsById(product.getCategory().getId());
+        Mockito.verify(productRepository, Mockito.times(1)).insert(product);
     }
 
     @Test
     void addProductTest_ExistByName() {
         ProductDTO productDTO = ProductDTO.builder()
-                .idProduct(UUID.randomUUID())
                 .name("name")
                 .description("description")
                 .idCategory(UUID.randomUUID()).build();
 
-        Product product = Product.builder()
-                .id(productDTO.getIdProduct())
-                .name(productDTO.getName())
-                .description(productDTO.getDescription())
-                .category(Category.builder().id(productDTO.getIdCategory()).build())
-                .build();
-
-
-        Mockito.when(productRepository.existsByName(product.getName())).thenReturn(true);
-        Mockito.when(categoryRepository.existsById(product.getCategory().getId())).thenReturn(true);
+        Mockito.when(productRepository.insert(Mockito.any(Product.class)))
+                .thenThrow(new ExistProductNameException("Product name already exists: " + productDTO.getName()));
 
         Assertions.assertThrows(ExistProductNameException.class, () -> productService.addProduct(productDTO));
     }
@@ -137,20 +130,12 @@ class ProductServiceTests {
     void addProduct_InvalidCategoryId() {
 
         ProductDTO productDTO = ProductDTO.builder()
-                .idProduct(UUID.randomUUID())
                 .name("name")
                 .description("description")
                 .idCategory(UUID.randomUUID()).build();
 
-        Product product = Product.builder()
-                .id(productDTO.getIdProduct())
-                .name(productDTO.getName())
-                .description(productDTO.getDescription())
-                .category(Category.builder().id(productDTO.getIdCategory()).build())
-                .build();
-
-        Mockito.when(productRepository.existsByName(product.getName())).thenReturn(false);
-        Mockito.when(categoryRepository.existsById(product.getCategory().getId())).thenReturn(false);
+        Mockito.when(productRepository.insert(Mockito.any(Product.class)))
+                .thenThrow(new CategoryNotFoundException("Invalid categoryId: " + productDTO.getIdCategory()));
 
         Assertions.assertThrows(CategoryNotFoundException.class, () -> productService.addProduct(productDTO));
     }
@@ -165,13 +150,6 @@ class ProductServiceTests {
                 .description("description")
                 .idCategory(UUID.randomUUID()).build();
 
-        Product product = Product.builder()
-                .id(productDTO.getIdProduct())
-                .name(productDTO.getName())
-                .description(productDTO.getDescription())
-                .category(Category.builder().id(productDTO.getIdCategory()).build())
-                .build();
-
         Product existingProduct = Product.builder()
                 .id(productId)
                 .name("Old name")
@@ -181,7 +159,7 @@ class ProductServiceTests {
 
 
         Mockito.when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-        Mockito.when(productRepository.save(product)).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(productRepository.update(existingProduct)).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Gọi phương thức updateProduct
         ResponseEntity<Product> response = productService.updateProduct(productId, productDTO);
@@ -0,0 +1,175 @@
+package com.example.productmanager.TestingStats;
+
+import com.example.productmanager.dto.CategoryStats;
+import com.example.productmanager.model.Category;
+import com.example.productmanager.model.Product;
+import com.example.productmanager.stats.CategoryStatsRow;
+import com.example.productmanager.stats.CategoryStatsStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+class CategoryStatsStoreTests {
+
+    private CategoryStatsStore store;
+    private Category books;
+    private Category games;
+
+    @BeforeEach
+    void setUp() {
+        store = new CategoryStatsStore();
+        books = Category.builder().id(UUID.randomUUID()).name("books").build();
+        games = Category.builder().id(UUID.randomUUID()).name("games").build();
+        store.putCategory(books);
+        store.putCategory(games);
+    }
+
+    @Test
+    void testAddAndUpdateKeepCountsAndAverageExact() {
+        Product cheap = product(books, 10.0, true);
+        Product dear = product(books, 30.0, true);
+        store.applyChange(null, cheap);
+        store.applyChange(null, dear);
+        store.applyChange(null, product(books, 99.0, false));
+
+        assertStats(store.get(books.getId()), 3, 2, 10.0, 30.0, 20.0);
+
+        Product repriced = copy(cheap, books, 20.0, true);
+        store.applyChange(cheap, repriced);
+
+        CategoryStats stats = store.get(books.getId());
+        Assertions.assertEquals(25.0, stats.getAveragePrice());
+        Assertions.assertEquals(2, stats.getAvailableCount());
+    }
+
+    @Test
+    void testProductMovingCategoryLeavesOneAndJoinsTheOther() {
+        Product product = product(books, 15.0, true);
+        store.applyChange(null, product);
+        store.applyChange(null, product(books, 40.0, true));
+
+        store.applyChange(product, copy(product, games, 15.0, true));
+
+        // The min left the category, so it stays at 15 and is marked stale until the next reconciliation.
+        assertStats(store.get(books.getId()), 1, 1, 15.0, 40.0, 40.0);
+        Assertions.assertTrue(store.isStale(books.getId()));
+        assertStats(store.get(games.getId()), 1, 1, 15.0, 15.0, 15.0);
+        Assertions.assertFalse(store.isStale(games.getId()));
+    }
+
+    @Test
+    void testRemovingTheMinOrMaxMarksTheCategoryStale() {
+        Product low = product(books, 5.0, true);
+        Product middle = product(books, 10.0, true);
+        Product high = product(books, 50.0, true);
+        store.applyChange(null, low);
+        store.applyChange(null, middle);
+        store.applyChange(null, high);
+
+        store.applyChange(middle, null);
+        Assertions.assertFalse(store.isStale(books.getId()));
+
+        store.applyChange(high, null);
+        Assertions.assertTrue(store.isStale(books.getId()));
+        Assertions.assertEquals(5.0, store.get(books.getId()).getAveragePrice());
+
+        // Removing the last priced product resets min and max, which are exact again.
+        store.applyChange(low, null);
+        Assertions.assertFalse(store.isStale(books.getId()));
+        assertStats(store.get(books.getId()), 0, 0, null, null, null);
+    }
+
+    @Test
+    void testMakingTheMaxUnavailableMarksTheCategoryStale() {
+        Product low = product(games, 5.0, true);
+        Product high = product(games, 50.0, true);
+        store.applyChange(null, low);
+        store.applyChange(null, high);
+
+        store.applyChange(high, copy(high, games, 50.0, false));
+
+        Assertions.assertTrue(store.isStale(games.getId()));
+        Assertions.assertEquals(2, store.get(games.getId()).getProductCount());
+        Assertions.assertEquals(1, store.get(games.getId()).getAvailableCount());
+    }
+
+    @Test
+    void testReconcileReplacesCategoriesNotChangedSinceItStarted() {
+        Product high = product(books, 50.0, true);
+        store.applyChange(null, product(books, 5.0, true));
+        store.applyChange(null, high);
+        store.applyChange(high, null);
+        Assertions.assertTrue(store.isStale(books.getId()));
+
+        long startedAt = store.currentSequence();
+        int replaced = store.reconcile(List.of(row(books, 1, 1, 5.0, 5.0, 5.0), row(games, 0, 0, null, null, null)), startedAt);
+
+        Assertions.assertEquals(2, replaced);
+        Assertions.assertFalse(store.isStale(books.getId()));
+        assertStats(store.get(books.getId()), 1, 1, 5.0, 5.0, 5.0);
+    }
+
+    @Test
+    void testReconcileKeepsChangesMadeAfterItStarted() {
+        long startedAt = store.currentSequence();
+        // A write lands while the reconciliation query runs; the query did not see it.
+        store.applyChange(null, product(books, 12.0, true));
+        Category added = Category.builder().id(UUID.randomUUID()).name("added").build();
+        store.putCategory(added);
+
+        int replaced = store.reconcile(List.of(row(books, 0, 0, null, null, null), row(games, 3, 3, 1.0, 3.0, 6.0)), startedAt);
+
+        Assertions.assertEquals(1, replaced);
+        assertStats(store.get(books.getId()), 1, 1, 12.0, 12.0, 12.0);
+        assertStats(store.get(games.getId()), 3, 3, 1.0, 3.0, 2.0);
+        // Missing from the rows but created after the query started, so it is kept.
+        Assertions.assertNotNull(store.get(added.getId()));
+    }
+
+    @Test
+    void testReconcileDropsCategoriesTheDatabaseNoLongerHas() {
+        long startedAt = store.currentSequence();
+
+        store.reconcile(List.of(row(books, 0, 0, null, null, null)), startedAt);
+
+        Assertions.assertNotNull(store.get(books.getId()));
+        Assertions.assertNull(store.get(games.getId()));
+        Assertions.assertEquals(1, store.getAll().size());
+    }
+
+    @Test
+    void testChangesToUnknownCategoriesAreIgnored() {
+        Category unknown = Category.builder().id(UUID.randomUUID()).build();
+
+        store.applyChange(null, product(unknown, 10.0, true));
+
+        Assertions.assertNull(store.get(unknown.getId()));
+        store.removeCategory(books.getId());
+        Assertions.assertNull(store.get(books.getId()));
+    }
+
+    private static void assertStats(CategoryStats stats, long products, long available, Double min, Double max, Double average) {
+        Assertions.assertEquals(products, stats.getProductCount());
+        Assertions.assertEquals(available, stats.getAvailableCount());
+        Assertions.assertEquals(min, stats.getMinPrice());
+        Assertions.assertEquals(max, stats.getMaxPrice());
+        Assertions.assertEquals(average, stats.getAveragePrice());
+    }
+
+    private static CategoryStatsRow row(Category category, long products, long priced, Double min, Double max, Double sum) {
+        return new CategoryStatsRow(category.getId(), category.getName(), products, priced, priced, sum, min, max);
+    }
+
+    private static Product product(Category category, Double price, boolean available) {
+        return Product.builder().id(UUID.randomUUID()).name("product").price(price).available(available)
+                .category(category).build();
+    }
+
+    private static Product copy(Product product, Category category, Double price, boolean available) {
+        return Product.builder().id(product.getId()).name(product.getName()).price(price).available(available)
+                .category(category).build();
+    }
+}
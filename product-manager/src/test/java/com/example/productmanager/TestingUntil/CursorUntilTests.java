@@ -0,0 +1,58 @@
+package com.example.productmanager.TestingUntil;
+
+import com.example.productmanager.exception.InvalidCursorException;
+import com.example.productmanager.untils.CursorUntil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+class CursorUntilTests {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        UUID id = UUID.randomUUID();
+
+        CursorUntil.Cursor cursor = CursorUntil.decode(CursorUntil.encode(19.99, id));
+
+        Assertions.assertEquals(19.99, cursor.sortKeyAsDouble());
+        Assertions.assertEquals(id, cursor.id());
+    }
+
+    @Test
+    void testSortKeyMayContainTheSeparator() {
+        UUID id = UUID.randomUUID();
+
+        CursorUntil.Cursor cursor = CursorUntil.decode(CursorUntil.encode("a|b", id));
+
+        Assertions.assertEquals("a|b", cursor.sortKey());
+        Assertions.assertEquals(id, cursor.id());
+    }
+
+    @Test
+    void testNullSortKeyIsEmpty() {
+        UUID id = UUID.randomUUID();
+
+        Assertions.assertEquals("", CursorUntil.decode(CursorUntil.encode(null, id)).sortKey());
+    }
+
+    @Test
+    void testEmptyCursorIsRejected() {
+        Assertions.assertThrows(InvalidCursorException.class, () -> CursorUntil.decode(""));
+    }
+
+    @Test
+    void testTamperedCursorIsRejected() {
+        Assertions.assertThrows(InvalidCursorException.class, () -> CursorUntil.decode("not base64!"));
+        Assertions.assertThrows(InvalidCursorException.class, () -> CursorUntil.decode(encodeRaw("10.0")));
+        Assertions.assertThrows(InvalidCursorException.class, () -> CursorUntil.decode(encodeRaw("10.0|not-a-uuid")));
+        String badPrice = encodeRaw("ten|" + UUID.randomUUID());
+        Assertions.assertThrows(InvalidCursorException.class, () -> CursorUntil.decode(badPrice).sortKeyAsDouble());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}